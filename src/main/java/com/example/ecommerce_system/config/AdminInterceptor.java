@@ -1,5 +1,6 @@
 package com.example.ecommerce_system.config;
 
+import com.example.ecommerce_system.model.RequestPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
@@ -22,9 +23,9 @@ public class AdminInterceptor implements HandlerInterceptor {
                 || method.getBeanType().isAnnotationPresent(RequireAdmin.class);
 
         if(requiresAdmin) {
-            String userRole = (String)  request.getAttribute("userRole");
+            RequestPrincipal principal = (RequestPrincipal) request.getAttribute(RequestPrincipal.ATTRIBUTE);
 
-            if(!"ADMIN".equals(userRole)) {
+            if(principal == null || !principal.isAdmin()) {
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 return false;
             }
@@ -0,0 +1,97 @@
+package com.example.ecommerce_system.config;
+
+import com.example.ecommerce_system.exception.auth.AuthCapacityExceededException;
+import com.example.ecommerce_system.util.LatencyHistogram;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt encoder that hashes and verifies passwords on a dedicated pool sized to the CPU cores
+ * instead of on the calling request thread.
+ * <p>
+ * At most {@code queueCapacity} operations wait for a worker. Anything beyond that is rejected with
+ * {@link AuthCapacityExceededException} so a login burst is shed instead of tying up every request thread.
+ */
+public class BoundedPasswordEncoder extends BCryptPasswordEncoder implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final LatencyHistogram encodeLatency = new LatencyHistogram();
+    private final LatencyHistogram matchesLatency = new LatencyHistogram();
+
+    public BoundedPasswordEncoder(int threads, int queueCapacity, long retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> super.encode(rawPassword), encodeLatency);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> super.matches(rawPassword, encodedPassword), matchesLatency);
+    }
+
+    public LatencyHistogram getEncodeLatency() {
+        return encodeLatency;
+    }
+
+    public LatencyHistogram getMatchesLatency() {
+        return matchesLatency;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Supplier<T> operation, LatencyHistogram latency) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(operation::get);
+        } catch (RejectedExecutionException e) {
+            throw new AuthCapacityExceededException(retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            latency.record(System.nanoTime() - start);
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -1,8 +1,43 @@
 package com.example.ecommerce_system.config;
 
+import com.example.ecommerce_system.util.CacheEntryWeigher;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 @Configuration
 @EnableCaching
-public class CacheConfig {}
+@EnableConfigurationProperties(CacheSpecProperties.class)
+public class CacheConfig {
+
+    /**
+     * Registers one Caffeine cache per entry in {@code cache.specs}, each with its own weight limit, expiry and stats.
+     * The manager is switched to static mode, so a {@code @Cacheable} naming a cache without a spec
+     * fails instead of silently getting an unbounded cache.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> cacheSpecCustomizer(CacheSpecProperties properties) {
+        return cacheManager -> {
+            cacheManager.setCacheNames(List.of());
+            CacheEntryWeigher weigher = new CacheEntryWeigher();
+            properties.specs().forEach((name, spec) ->
+                    cacheManager.registerCustomCache(name, buildCache(spec, weigher).build()));
+        };
+    }
+
+    private Caffeine<Object, Object> buildCache(CacheSpecProperties.Spec spec, CacheEntryWeigher weigher) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.maximumWeight())
+                .weigher(weigher);
+        if (spec.expireAfterWrite() != null) builder.expireAfterWrite(spec.expireAfterWrite());
+        if (spec.expireAfterAccess() != null) builder.expireAfterAccess(spec.expireAfterAccess());
+        if (spec.recordStats()) builder.recordStats();
+        return builder;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ecommerce_system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-cache Caffeine settings bound from {@code cache.specs.<name>.*}.
+ * Every cache used by a {@code @Cacheable} must have an entry; weights are counted in cached rows
+ * (see {@link com.example.ecommerce_system.util.CacheEntryWeigher}).
+ */
+@ConfigurationProperties(prefix = "cache")
+public record CacheSpecProperties(@DefaultValue Map<String, Spec> specs) {
+
+    /**
+     * @param maximumWeight     total weight the cache may hold before evicting; 0 disables the cache
+     * @param expireAfterWrite  time an entry lives after being written, or {@code null} for no write expiry
+     * @param expireAfterAccess time an entry lives after its last read, or {@code null} for no access expiry
+     * @param recordStats       whether hit, miss and eviction counts are recorded
+     */
+    public record Spec(
+            long maximumWeight,
+            Duration expireAfterWrite,
+            Duration expireAfterAccess,
+            @DefaultValue("true") boolean recordStats
+    ) {}
+}
@@ -0,0 +1,26 @@
+package com.example.ecommerce_system.config;
+
+import com.example.ecommerce_system.model.RequestPrincipal;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Copies the {@link RequestPrincipal} stored by {@link JwtInterceptor} into the GraphQL context,
+ * so resolvers can take it with {@code @ContextValue} on whichever thread they run.
+ */
+@Component
+public class GraphQLPrincipalInterceptor implements WebGraphQlInterceptor {
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Object principal = request.getAttributes().get(RequestPrincipal.ATTRIBUTE);
+        if (principal != null) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(context -> context.put(RequestPrincipal.ATTRIBUTE, principal)).build());
+        }
+        return chain.next(request);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ecommerce_system.config;
 
+import com.example.ecommerce_system.model.RawJson;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.language.StringValue;
 import graphql.schema.*;
@@ -21,11 +22,18 @@ public class GraphQLScalarConfig {
         return GraphQLScalarType.newScalar()
                 .name("JSON")
                 .description("A custom scalar that handles JSON objects")
-                .coercing(new Coercing<String, String>() {
+                .coercing(new Coercing<Object, Object>() {
+                    /**
+                     * {@link RawJson} values are passed through untouched, so the response writer
+                     * emits their text verbatim instead of parsing and re-serializing it.
+                     */
                     @Override
-                    public String serialize(Object dataFetcherResult) throws CoercingSerializeException {
+                    public Object serialize(Object dataFetcherResult) throws CoercingSerializeException {
+                        if (dataFetcherResult instanceof RawJson) {
+                            return dataFetcherResult;
+                        }
                         if (dataFetcherResult instanceof String) {
-                            return (String) dataFetcherResult;
+                            return dataFetcherResult;
                         }
                         try {
                             return objectMapper.writeValueAsString(dataFetcherResult);
@@ -35,7 +43,7 @@ public class GraphQLScalarConfig {
                     }
 
                     @Override
-                    public String parseValue(Object input) throws CoercingParseValueException {
+                    public Object parseValue(Object input) throws CoercingParseValueException {
                         if (input instanceof String) {
                             return (String) input;
                         }
@@ -47,7 +55,7 @@ public class GraphQLScalarConfig {
                     }
 
                     @Override
-                    public String parseLiteral(Object input) throws CoercingParseLiteralException {
+                    public Object parseLiteral(Object input) throws CoercingParseLiteralException {
                         if (input instanceof StringValue) {
                             return ((StringValue) input).getValue();
                         }
@@ -1,28 +1,37 @@
 package com.example.ecommerce_system.config;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.ecommerce_system.model.RequestPrincipal;
+import com.example.ecommerce_system.store.TokenStore;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
+import lombok.AllArgsConstructor;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+@AllArgsConstructor
 @Component
 @Order(1)
 public class JwtInterceptor implements HandlerInterceptor {
 
-    @Value("${jwt.token.secret-key}")
-    private String secretKey;
+    private final JwtTokenVerifier tokenVerifier;
+    private final TokenStore tokenStore;
 
     @Override
     public boolean preHandle(HttpServletRequest request,
                              HttpServletResponse response,
                              Object handler
     ) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return authenticate(request, response);
+        } finally {
+            tokenVerifier.recordInterceptorTime(System.nanoTime() - start);
+        }
+    }
+
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
         String token = request.getHeader("Authorization");
 
         if (token == null || !token.startsWith("Bearer ")) {
@@ -31,19 +40,19 @@ public class JwtInterceptor implements HandlerInterceptor {
         }
 
         try {
-            token = token.substring(7);
-            Algorithm algorithm = Algorithm.HMAC256(secretKey);
-            DecodedJWT decodedJWT = JWT.require(algorithm).build().verify(token);
+            JwtTokenVerifier.VerifiedToken verified = tokenVerifier.verify(token.substring(7));
+            if (verified.tokenId() != null && tokenStore.isAccessTokenRevoked(verified.tokenId())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                return false;
+            }
 
-            String role = decodedJWT.getClaim("role").asString();
-            String userId = decodedJWT.getSubject();
-            if (!"ADMIN".equals(role) && !"CUSTOMER".equals(role)) {
+            RequestPrincipal principal = verified.principal();
+            if (principal.role() == null) {
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
                 return false;
             }
 
-            request.setAttribute("userRole", role);
-            request.setAttribute("userId", userId);
+            request.setAttribute(RequestPrincipal.ATTRIBUTE, principal);
         } catch (JWTVerificationException e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return false;
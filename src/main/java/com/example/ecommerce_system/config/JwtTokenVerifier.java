@@ -0,0 +1,180 @@
+package com.example.ecommerce_system.config;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.ecommerce_system.model.RequestPrincipal;
+import com.example.ecommerce_system.model.Role;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verifies bearer tokens with a verifier built once for the configured secret.
+ * <p>
+ * Successfully verified tokens are remembered, with their parsed {@link RequestPrincipal}, by their SHA-256 digest until they expire (capped by
+ * {@code jwt.verified-cache.max-ttl-ms}), so repeat requests with the same token skip the HMAC check
+ * and claim parsing. Rejected tokens are never cached.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JWTVerifier verifier;
+    private final Clock clock;
+    private final Duration maxTtl;
+    private final Cache<String, VerifiedToken> verified;
+
+    private final LongAdder interceptedRequests = new LongAdder();
+    private final LongAdder interceptorNanos = new LongAdder();
+
+    @Autowired
+    public JwtTokenVerifier(
+            @Value("${jwt.token.secret-key}") String secretKey,
+            @Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.verified-cache.max-ttl-ms:300000}") long maxTtlMs
+    ) {
+        this(secretKey, maxSize, maxTtlMs, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    /**
+     * @param clock  wall clock that token expiry is checked against
+     * @param ticker time source of the verified-token cache; must advance with {@code clock}
+     */
+    public JwtTokenVerifier(String secretKey, long maxSize, long maxTtlMs, Clock clock, Ticker ticker) {
+        this.verifier = ((JWTVerifier.BaseVerification) JWT.require(Algorithm.HMAC256(secretKey))).build(clock);
+        this.clock = clock;
+        this.maxTtl = Duration.ofMillis(maxTtlMs);
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Return the principal carried by a token, verifying its signature only on the first sighting.
+     *
+     * @throws JWTVerificationException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) return cached;
+
+        DecodedJWT decoded = verifier.verify(token);
+        VerifiedToken result = new VerifiedToken(
+                parseUuid(decoded.getId()),
+                new RequestPrincipal(
+                        parseUuid(decoded.getSubject()),
+                        parseRole(decoded.getClaim("role").asString()),
+                        parseUuid(decoded.getClaim("customerId").asString())
+                ),
+                decoded.getExpiresAtAsInstant() != null ? decoded.getExpiresAtAsInstant() : Instant.MAX
+        );
+        verified.put(digest, result);
+        return result;
+    }
+
+    /**
+     * Drop every remembered token, forcing full verification on the next request.
+     */
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    void recordInterceptorTime(long nanos) {
+        interceptedRequests.increment();
+        interceptorNanos.add(nanos);
+    }
+
+    public Metrics metrics() {
+        CacheStats stats = verified.stats();
+        long requests = interceptedRequests.sum();
+        long nanos = interceptorNanos.sum();
+        return new Metrics(
+                requests,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                verified.estimatedSize(),
+                requests == 0 ? 0 : nanos / (double) requests / 1_000_000
+        );
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return value != null ? UUID.fromString(value) : null;
+        } catch (IllegalArgumentException e) {
+            throw new JWTDecodeException("Malformed id in token: " + value);
+        }
+    }
+
+    private static Role parseRole(String value) {
+        for (Role role : Role.values()) {
+            if (role.name().equals(value)) return role;
+        }
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param principal caller described by the token; its role is {@code null} when the role claim is unknown
+     */
+    public record VerifiedToken(UUID tokenId, RequestPrincipal principal, Instant expiresAt) {}
+
+    public record Metrics(
+            long requests,
+            long cacheHits,
+            long cacheMisses,
+            double hitRate,
+            long cachedTokens,
+            double avgInterceptorMs
+    ) {}
+
+    private class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Duration remaining = Duration.between(clock.instant(), token.expiresAt());
+            if (remaining.compareTo(maxTtl) > 0) remaining = maxTtl;
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(remaining.toMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
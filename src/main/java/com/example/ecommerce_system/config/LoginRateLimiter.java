@@ -0,0 +1,46 @@
+package com.example.ecommerce_system.config;
+
+import com.example.ecommerce_system.exception.auth.TooManyLoginAttemptsException;
+import com.example.ecommerce_system.util.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles login attempts per email and per client IP before any password verification,
+ * database or cache lookup takes place.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final TokenBucketRateLimiter byEmail;
+    private final TokenBucketRateLimiter byIp;
+
+    public LoginRateLimiter(
+            @Value("${auth.login-limit.email.capacity:5}") int emailCapacity,
+            @Value("${auth.login-limit.email.period-ms:60000}") long emailPeriodMs,
+            @Value("${auth.login-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${auth.login-limit.ip.period-ms:60000}") long ipPeriodMs,
+            @Value("${auth.login-limit.max-keys:100000}") long maxKeys
+    ) {
+        this.byEmail = new TokenBucketRateLimiter(emailCapacity, Duration.ofMillis(emailPeriodMs), maxKeys);
+        this.byIp = new TokenBucketRateLimiter(ipCapacity, Duration.ofMillis(ipPeriodMs), maxKeys);
+    }
+
+    /**
+     * Take one login attempt for both the client IP and the email.
+     *
+     * @throws TooManyLoginAttemptsException when either limit is exhausted
+     */
+    public void checkLoginAttempt(String email, String clientIp) {
+        long waitNanos = Math.max(
+                byIp.tryAcquire(clientIp),
+                byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT))
+        );
+        if (waitNanos > 0)
+            throw new TooManyLoginAttemptsException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce_system.config;
+
+import com.example.ecommerce_system.model.RequestPrincipal;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Supplies the {@link RequestPrincipal} stored by {@link JwtInterceptor} to REST handler method parameters.
+ */
+public class RequestPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return RequestPrincipal.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        return webRequest.getAttribute(RequestPrincipal.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+}
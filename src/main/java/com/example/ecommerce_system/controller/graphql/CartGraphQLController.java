@@ -3,16 +3,18 @@ package com.example.ecommerce_system.controller.graphql;
 import com.example.ecommerce_system.dto.cart.AddCartItem;
 import com.example.ecommerce_system.dto.cart.CartItemRequestDto;
 import com.example.ecommerce_system.dto.cart.CartItemResponseDto;
+import com.example.ecommerce_system.dto.cart.CartItemsRequestDto;
 import com.example.ecommerce_system.dto.cart.UpdateCartItem;
+import com.example.ecommerce_system.dto.cart.UpdateCartItems;
+import com.example.ecommerce_system.model.RequestPrincipal;
 import com.example.ecommerce_system.service.CartService;
-import com.example.ecommerce_system.util.RequestContextUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,33 +25,56 @@ public class CartGraphQLController {
     private final CartService cartService;
 
     @QueryMapping
-    public List<CartItemResponseDto> getCustomerCartItems() {
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
-        return cartService.getCartItemsByCustomer(userId);
+    public List<CartItemResponseDto> getCustomerCartItems(
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return cartService.getCartItemsByCustomer(principal.requireCustomerId());
     }
 
     @MutationMapping
     public CartItemResponseDto addCartItem(
-            @Argument @Validated(AddCartItem.class) CartItemRequestDto request) {
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
-        return cartService.addToCart(userId, request);
+            @Argument @Validated(AddCartItem.class) CartItemRequestDto request,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return cartService.addToCart(principal.requireCustomerId(), request);
     }
 
     @MutationMapping
     public CartItemResponseDto updateCartItem(
             @Argument String cartItemId,
-            @Argument @Validated(UpdateCartItem.class) CartItemRequestDto request) {
+            @Argument @Validated(UpdateCartItem.class) CartItemRequestDto request,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
         UUID cartItemUuid = UUID.fromString(cartItemId);
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
-        return cartService.updateCartItem(userId, cartItemUuid, request);
+        return cartService.updateCartItem(principal.requireCustomerId(), cartItemUuid, request);
     }
 
     @MutationMapping
     public Boolean removeFromCart(
-            @Argument String cartItemId) {
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
+            @Argument String cartItemId,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
         UUID cartItemUuid = UUID.fromString(cartItemId);
-        cartService.removeFromCart(userId, cartItemUuid);
+        cartService.removeFromCart(principal.requireCustomerId(), cartItemUuid);
+        return true;
+    }
+
+    @MutationMapping
+    public List<CartItemResponseDto> addCartItems(
+            @Argument @Validated(AddCartItem.class) CartItemsRequestDto request,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return cartService.addItemsToCart(principal.requireCustomerId(), request.getItems());
+    }
+
+    @MutationMapping
+    public List<CartItemResponseDto> updateCartItems(
+            @Argument @Validated(UpdateCartItems.class) CartItemsRequestDto request,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return cartService.updateCartItems(principal.requireCustomerId(), request.getItems());
+    }
+
+    @MutationMapping
+    public Boolean removeCartItems(
+            @Argument List<String> cartItemIds,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        List<UUID> cartItemUuids = cartItemIds.stream().map(UUID::fromString).toList();
+        cartService.removeItemsFromCart(principal.requireCustomerId(), cartItemUuids);
         return true;
     }
 }
@@ -1,19 +1,20 @@
 package com.example.ecommerce_system.controller.graphql;
 
+import com.example.ecommerce_system.dto.orders.CheckoutOrderRequest;
 import com.example.ecommerce_system.dto.orders.CreateOrderRequest;
 import com.example.ecommerce_system.dto.orders.OrderRequestDto;
 import com.example.ecommerce_system.dto.orders.OrderResponseDto;
+import com.example.ecommerce_system.model.RequestPrincipal;
 import com.example.ecommerce_system.service.OrderService;
-import com.example.ecommerce_system.util.RequestContextUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
-import java.util.UUID;
 
 @Controller
 @AllArgsConstructor
@@ -23,20 +24,26 @@ public class OrderGraphQLController {
     @QueryMapping
     public List<OrderResponseDto> getCustomerOrders(
             @Argument(name = "limit") Integer limit,
-            @Argument(name = "offset") Integer offset) {
+            @Argument(name = "offset") Integer offset,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
 
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
         int limitValue = limit != null ? limit : 10;
         int offsetValue = offset != null ? offset : 0;
 
-        return orderService.getCustomerOrders(userId, limitValue, offsetValue);
+        return orderService.getCustomerOrders(principal.requireCustomerId(), limitValue, offsetValue);
     }
 
     @MutationMapping
     public OrderResponseDto placeOrder(
-            @Argument @Validated(CreateOrderRequest.class) OrderRequestDto input) {
+            @Argument @Validated(CreateOrderRequest.class) OrderRequestDto input,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return orderService.placeOrder(input, principal.requireCustomerId());
+    }
 
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
-        return orderService.placeOrder(input, userId);
+    @MutationMapping
+    public OrderResponseDto checkout(
+            @Argument @Validated(CheckoutOrderRequest.class) OrderRequestDto input,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
+        return orderService.checkout(input, principal.requireCustomerId());
     }
 }
@@ -1,36 +1,61 @@
 package com.example.ecommerce_system.controller.graphql;
 
+import com.example.ecommerce_system.dto.CursorPageDto;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
 import com.example.ecommerce_system.dto.review.ReviewRequestDto;
 import com.example.ecommerce_system.dto.review.ReviewResponseDto;
+import com.example.ecommerce_system.model.RequestPrincipal;
 import com.example.ecommerce_system.service.ReviewService;
-import com.example.ecommerce_system.util.RequestContextUtil;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
-import java.util.List;
 import java.util.UUID;
 
 @Controller
 @AllArgsConstructor
 public class ReviewGraphQLController {
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
     private final ReviewService reviewService;
 
     /**
-     * GraphQL query to retrieve paginated reviews for a specific product.
+     * GraphQL query to retrieve a page of reviews for a specific product.
+     * Pass the {@code nextCursor} of a page as {@code after} to fetch the following page.
      */
     @QueryMapping
-    public List<ReviewResponseDto> getProductReviews(
+    public CursorPageDto<ReviewResponseDto> getProductReviews(
             @Argument String productId,
             @Argument Integer limit,
-            @Argument Integer offset) {
+            @Argument String after) {
         UUID productUuid = UUID.fromString(productId);
-        int actualLimit = limit != null ? limit : 10;
-        int actualOffset = offset != null ? offset : 0;
 
-        return reviewService.getReviewsByProduct(productUuid, actualLimit, actualOffset);
+        return reviewService.getReviewsByProduct(productUuid, validateLimit(limit), after);
+    }
+
+    /**
+     * GraphQL query to search reviews by product, comment keywords, rating range and creation date.
+     * Pass the {@code nextCursor} of a page as {@code after} to fetch the following page.
+     */
+    @QueryMapping
+    public CursorPageDto<ReviewResponseDto> searchReviews(
+            @Argument ReviewFilter filter,
+            @Argument Integer limit,
+            @Argument String after) {
+        ReviewFilter actualFilter = filter != null ? filter : new ReviewFilter(null, null, null, null, null, null);
+
+        return reviewService.searchReviews(actualFilter, validateLimit(limit), after);
+    }
+
+    private static int validateLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit < 1 || limit > MAX_LIMIT)
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        return limit;
     }
 
     /**
@@ -40,10 +65,10 @@ public class ReviewGraphQLController {
     @MutationMapping
     public ReviewResponseDto createReview(
             @Argument String productId,
-            @Argument ReviewRequestDto request) {
+            @Argument ReviewRequestDto request,
+            @ContextValue(name = RequestPrincipal.ATTRIBUTE) RequestPrincipal principal) {
         UUID productUuid = UUID.fromString(productId);
-        UUID userId = UUID.fromString(RequestContextUtil.getUserId());
 
-        return reviewService.createReview(productUuid, userId, request);
+        return reviewService.createReview(productUuid, principal.requireCustomerId(), request);
     }
 }
@@ -1,14 +1,17 @@
 package com.example.ecommerce_system.controller.rest;
 
+import com.example.ecommerce_system.config.LoginRateLimiter;
 import com.example.ecommerce_system.dto.SuccessResponseDto;
 import com.example.ecommerce_system.dto.auth.AuthResponseDto;
 import com.example.ecommerce_system.dto.auth.LoginRequestDto;
+import com.example.ecommerce_system.dto.auth.RefreshTokenRequestDto;
 import com.example.ecommerce_system.dto.auth.SignupRequestDto;
 import com.example.ecommerce_system.service.AuthService;
 import com.example.ecommerce_system.util.handler.SuccessResponseHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -21,12 +24,14 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/auth")
 public class AuthController {
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @Operation(summary = "Register a new user")
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "User registered successfully"),
             @ApiResponse(responseCode = "400", description = "Bad request - Invalid input or weak password"),
-            @ApiResponse(responseCode = "409", description = "Conflict - Email already exists")
+            @ApiResponse(responseCode = "409", description = "Conflict - Email already exists"),
+            @ApiResponse(responseCode = "503", description = "Too many authentication requests - retry after the Retry-After delay")
     })
     @PostMapping("/signup")
     public SuccessResponseDto<AuthResponseDto> signup(@RequestBody @Valid SignupRequestDto request) {
@@ -39,11 +44,40 @@ public class AuthController {
             @ApiResponse(responseCode = "200", description = "Login successful"),
             @ApiResponse(responseCode = "400", description = "Bad request - Invalid input"),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid credentials"),
-            @ApiResponse(responseCode = "404", description = "User not found")
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts - retry after the Retry-After delay"),
+            @ApiResponse(responseCode = "503", description = "Too many authentication requests - retry after the Retry-After delay")
     })
     @PostMapping("/login")
-    public SuccessResponseDto<AuthResponseDto> login(@RequestBody @Valid LoginRequestDto request) {
+    public SuccessResponseDto<AuthResponseDto> login(
+            @RequestBody @Valid LoginRequestDto request,
+            HttpServletRequest httpRequest
+    ) {
+        loginRateLimiter.checkLoginAttempt(request.getEmail(), httpRequest.getRemoteAddr());
         AuthResponseDto response = authService.login(request);
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, response);
     }
+
+    @Operation(summary = "Exchange a refresh token for new tokens")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Refresh token is invalid, expired or revoked")
+    })
+    @PostMapping("/refresh")
+    public SuccessResponseDto<AuthResponseDto> refresh(@RequestBody @Valid RefreshTokenRequestDto request) {
+        AuthResponseDto response = authService.refresh(request);
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, response);
+    }
+
+    @Operation(summary = "Revoke a refresh token and its access token")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Logged out successfully"),
+            @ApiResponse(responseCode = "400", description = "Bad request - Invalid input")
+    })
+    @PostMapping("/logout")
+    public SuccessResponseDto<Void> logout(@RequestBody @Valid RefreshTokenRequestDto request) {
+        authService.logout(request);
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.NO_CONTENT, null);
+    }
 }
@@ -0,0 +1,35 @@
+package com.example.ecommerce_system.controller.rest;
+
+import com.example.ecommerce_system.config.RequireAdmin;
+import com.example.ecommerce_system.dto.SuccessResponseDto;
+import com.example.ecommerce_system.dto.cache.CacheStatsDto;
+import com.example.ecommerce_system.service.CacheStatsService;
+import com.example.ecommerce_system.util.handler.SuccessResponseHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/admin/caches")
+@RequireAdmin
+public class CacheAdminController {
+    private final CacheStatsService cacheStatsService;
+
+    @Operation(summary = "Retrieve per-cache size, hit/miss and eviction statistics")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cache statistics retrieved")
+    })
+    @GetMapping
+    public SuccessResponseDto<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = cacheStatsService.getCacheStats();
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, stats);
+    }
+}
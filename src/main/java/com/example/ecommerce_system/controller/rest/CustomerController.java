@@ -1,16 +1,20 @@
 package com.example.ecommerce_system.controller.rest;
 
 import com.example.ecommerce_system.config.RequireAdmin;
+import com.example.ecommerce_system.dto.CursorPageDto;
 import com.example.ecommerce_system.dto.SuccessResponseDto;
 import com.example.ecommerce_system.dto.customer.CustomerRequestDto;
 import com.example.ecommerce_system.dto.customer.CustomerResponseDto;
+import com.example.ecommerce_system.dto.customer.CustomerSummaryDto;
 import com.example.ecommerce_system.service.CustomerService;
 import com.example.ecommerce_system.util.handler.SuccessResponseHandler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
@@ -27,16 +31,17 @@ import java.util.UUID;
 public class CustomerController {
     private final CustomerService customerService;
 
-    @Operation(summary = "Retrieve all customers")
+    @Operation(summary = "Retrieve a page of customers, newest first")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "All customers retrieved")
+            @ApiResponse(responseCode = "200", description = "A page of customers and the cursor of the next page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
     @GetMapping
-    public SuccessResponseDto<List<CustomerResponseDto>> getAllCustomers(
-            @RequestParam @Min(1) int limit,
-            @RequestParam @Min(0) int offset
+    public SuccessResponseDto<CursorPageDto<CustomerResponseDto>> getAllCustomers(
+            @RequestParam @Min(1) @Max(100) int limit,
+            @RequestParam(required = false) String cursor
     ) {
-        List<CustomerResponseDto> customers = customerService.getAllCustomers(limit, offset);
+        var customers = customerService.getAllCustomers(limit, cursor);
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, customers);
     }
 
@@ -51,7 +56,18 @@ public class CustomerController {
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, customer);
     }
 
-    @Operation(summary = "Search customers by query matching first name, last name, or email")
+    @Operation(summary = "Summarize a customer's orders, open cart and reviews")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Customer summary retrieved"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    @GetMapping("/{id}/summary")
+    public SuccessResponseDto<CustomerSummaryDto> getCustomerSummary(@PathVariable UUID id) {
+        var summary = customerService.getCustomerSummary(id);
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, summary);
+    }
+
+    @Operation(summary = "Search customers by query matching first name, last name, or email, most relevant first")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Customers matching search criteria retrieved")
     })
@@ -65,6 +81,19 @@ public class CustomerController {
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, customers);
     }
 
+    @Operation(summary = "Suggest customers whose first name, last name, or email starts with a prefix")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching customers retrieved")
+    })
+    @GetMapping("/autocomplete")
+    public SuccessResponseDto<List<CustomerResponseDto>> autocompleteCustomers(
+            @RequestParam @NotBlank String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limit
+    ) {
+        List<CustomerResponseDto> customers = customerService.autocompleteCustomers(prefix, limit);
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, customers);
+    }
+
     @Operation(summary = "Update a customer's phone and/or active status")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Customer updated"),
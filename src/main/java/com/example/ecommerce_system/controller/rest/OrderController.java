@@ -0,0 +1,41 @@
+package com.example.ecommerce_system.controller.rest;
+
+import com.example.ecommerce_system.dto.SuccessResponseDto;
+import com.example.ecommerce_system.dto.orders.CheckoutOrderRequest;
+import com.example.ecommerce_system.dto.orders.OrderRequestDto;
+import com.example.ecommerce_system.dto.orders.OrderResponseDto;
+import com.example.ecommerce_system.model.RequestPrincipal;
+import com.example.ecommerce_system.service.OrderService;
+import com.example.ecommerce_system.util.handler.SuccessResponseHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@AllArgsConstructor
+@Validated
+@RequestMapping("/orders")
+public class OrderController {
+    private final OrderService orderService;
+
+    @Operation(summary = "Check out the current customer's cart into a new order")
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Order placed from cart"),
+            @ApiResponse(responseCode = "400", description = "Bad request or empty cart"),
+            @ApiResponse(responseCode = "404", description = "Customer not found"),
+            @ApiResponse(responseCode = "409", description = "Insufficient stock")
+    })
+    @PostMapping("/checkout")
+    public SuccessResponseDto<OrderResponseDto> checkout(
+            @RequestBody @Validated(CheckoutOrderRequest.class) OrderRequestDto request,
+            @Parameter(hidden = true) RequestPrincipal principal
+    ) {
+        var order = orderService.checkout(request, principal.requireCustomerId());
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.CREATED, order);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.ecommerce_system.controller.rest;
 
 import com.example.ecommerce_system.config.RequireAdmin;
 import com.example.ecommerce_system.dto.product.ProductFilter;
+import com.example.ecommerce_system.dto.CursorPageDto;
 import com.example.ecommerce_system.dto.SuccessResponseDto;
 import com.example.ecommerce_system.dto.product.CreateProductRequest;
 import com.example.ecommerce_system.dto.product.ProductRequestDto;
@@ -56,18 +57,19 @@ public class ProductController {
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, product);
     }
 
-    @Operation(summary = "Retrieve a single product's list of reviews")
+    @Operation(summary = "Retrieve a page of a single product's reviews, newest first")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "A list of reviews"),
+            @ApiResponse(responseCode = "200", description = "A page of reviews and the cursor of the next page"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{id}/reviews")
-    public SuccessResponseDto<List<ReviewResponseDto>> getProductWithReviews(
+    public SuccessResponseDto<CursorPageDto<ReviewResponseDto>> getProductWithReviews(
             @PathVariable UUID id,
-            @RequestParam int limit,
-            @RequestParam int offset
+            @RequestParam @Min(1) int limit,
+            @RequestParam(required = false) String cursor
     ) {
-        var product = reviewService.getReviewsByProduct(id, limit, offset);
+        var product = reviewService.getReviewsByProduct(id, limit, cursor);
         return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, product);
     }
 
@@ -0,0 +1,49 @@
+package com.example.ecommerce_system.controller.rest;
+
+import com.example.ecommerce_system.dto.CursorPageDto;
+import com.example.ecommerce_system.dto.SuccessResponseDto;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
+import com.example.ecommerce_system.dto.review.ReviewResponseDto;
+import com.example.ecommerce_system.service.ReviewService;
+import com.example.ecommerce_system.util.handler.SuccessResponseHandler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@RestController
+@Validated
+@AllArgsConstructor
+@RequestMapping("/reviews")
+public class ReviewController {
+    private final ReviewService reviewService;
+
+    @Operation(summary = "Search reviews by comment keywords, rating range and creation date, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "A page of matching reviews and the cursor of the next page"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or cursor")
+    })
+    @GetMapping("/search")
+    public SuccessResponseDto<CursorPageDto<ReviewResponseDto>> searchReviews(
+            @RequestParam(required = false) UUID product,
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) @Min(1) @Max(5) Integer minRating,
+            @RequestParam(required = false) @Min(1) @Max(5) Integer maxRating,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam @Min(1) @Max(100) int limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        ReviewFilter filter = new ReviewFilter(product, query, minRating, maxRating, from, to);
+        var reviews = reviewService.searchReviews(filter, limit, cursor);
+        return SuccessResponseHandler.generateSuccessResponse(HttpStatus.OK, reviews);
+    }
+}
@@ -3,14 +3,16 @@ package com.example.ecommerce_system.dao.impl;
 import com.example.ecommerce_system.dao.interfaces.CartDao;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartAggregate;
 import com.example.ecommerce_system.model.CartItem;
+import com.example.ecommerce_system.model.CartLine;
+import com.example.ecommerce_system.model.CartPurgeResult;
+import com.example.ecommerce_system.model.Product;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Instant;
+import java.util.*;
 
 @Repository
 public class CartJdbcDao implements CartDao {
@@ -53,6 +55,64 @@ public class CartJdbcDao implements CartDao {
             ORDER BY added_at DESC
             """;
 
+    private static final String FIND_LINES_FOR_CHECKOUT = """
+            SELECT ci.cart_item_id, ci.cart_id, ci.product_id, ci.quantity, p.price
+            FROM cart c
+            JOIN cart_item ci ON ci.cart_id = c.cart_id
+            JOIN product p ON p.product_id = ci.product_id
+            WHERE c.customer_id = ?
+            ORDER BY ci.added_at
+            FOR UPDATE OF ci
+            """;
+
+    private static final String FIND_AGGREGATE_BY_CUSTOMER_ID = """
+            SELECT c.cart_id, c.customer_id, c.created_at AS cart_created_at, c.updated_at AS cart_updated_at,
+                   ci.cart_item_id, ci.product_id, ci.quantity, ci.added_at,
+                   p.name, p.description, p.price, p.stock_quantity, p.category_id,
+                   p.created_at AS product_created_at, p.updated_at AS product_updated_at
+            FROM cart c
+            LEFT JOIN cart_item ci ON ci.cart_id = c.cart_id
+            LEFT JOIN product p ON p.product_id = ci.product_id
+            WHERE c.customer_id = ?
+            ORDER BY ci.added_at DESC
+            """;
+
+    private static final String TOUCH_BY_CUSTOMER_ID = """
+            UPDATE cart SET updated_at = ? WHERE customer_id = ?
+            """;
+
+    private static final String DELETE_IDLE_CARTS = """
+            WITH idle AS (
+                SELECT cart_id FROM cart
+                WHERE updated_at < ?
+                ORDER BY updated_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), deleted_items AS (
+                DELETE FROM cart_item ci USING idle
+                WHERE ci.cart_id = idle.cart_id
+                RETURNING ci.cart_item_id
+            ), deleted_carts AS (
+                DELETE FROM cart c USING idle
+                WHERE c.cart_id = idle.cart_id
+                RETURNING c.customer_id
+            )
+            SELECT dc.customer_id, (SELECT count(*) FROM deleted_items) AS deleted_items
+            FROM deleted_carts dc
+            """;
+
+    private static final String UPSERT_CART = """
+            INSERT INTO cart (cart_id, customer_id, created_at, updated_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (cart_id) DO UPDATE SET updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String UPSERT_ITEM = """
+            INSERT INTO cart_item (cart_item_id, cart_id, product_id, quantity, added_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (cart_item_id) DO UPDATE SET quantity = EXCLUDED.quantity
+            """;
+
     @Override
     public Optional<Cart> findByCustomerId(Connection conn, UUID customerId) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(FIND_BY_CUSTOMER_ID)) {
@@ -169,4 +229,187 @@ public class CartJdbcDao implements CartDao {
         }
         return results;
     }
+
+    @Override
+    public void addItemsBatch(Connection conn, List<CartItem> items) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(ADD_ITEM)) {
+            for (CartItem item : items) {
+                ps.setObject(1, item.getCartItemId());
+                ps.setObject(2, item.getCartId());
+                ps.setObject(3, item.getProductId());
+                ps.setInt(4, item.getQuantity());
+                ps.setTimestamp(5, Timestamp.from(item.getAddedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to add cart items in batch", e);
+        }
+    }
+
+    @Override
+    public void updateItemQuantitiesBatch(Connection conn, List<CartItem> items) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(UPDATE_ITEM_QTY)) {
+            for (CartItem item : items) {
+                ps.setInt(1, item.getQuantity());
+                ps.setObject(2, item.getCartItemId());
+                ps.addBatch();
+            }
+            int[] rows = ps.executeBatch();
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i] == 0)
+                    throw new DaoException("Failed to update quantity for cart item: " + items.get(i).getCartItemId());
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to update cart item quantities in batch", e);
+        }
+    }
+
+    @Override
+    public void upsertBatch(Connection conn, List<Cart> carts) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(UPSERT_CART)) {
+            for (Cart cart : carts) {
+                ps.setObject(1, cart.getCartId());
+                ps.setObject(2, cart.getCustomerId());
+                ps.setTimestamp(3, Timestamp.from(cart.getCreatedAt()));
+                ps.setTimestamp(4, Timestamp.from(cart.getUpdatedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to upsert carts in batch", e);
+        }
+    }
+
+    @Override
+    public void upsertItemsBatch(Connection conn, List<CartItem> items) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(UPSERT_ITEM)) {
+            for (CartItem item : items) {
+                ps.setObject(1, item.getCartItemId());
+                ps.setObject(2, item.getCartId());
+                ps.setObject(3, item.getProductId());
+                ps.setInt(4, item.getQuantity());
+                ps.setTimestamp(5, Timestamp.from(item.getAddedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to upsert cart items in batch", e);
+        }
+    }
+
+    @Override
+    public void deleteItemsBatch(Connection conn, List<UUID> cartItemIds) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(DELETE_ITEM)) {
+            for (UUID cartItemId : cartItemIds) {
+                ps.setObject(1, cartItemId);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to delete cart items in batch", e);
+        }
+    }
+
+    @Override
+    public List<CartLine> findLinesForCheckout(Connection conn, UUID customerId) throws DaoException {
+        List<CartLine> lines = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(FIND_LINES_FOR_CHECKOUT)) {
+            ps.setObject(1, customerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lines.add(new CartLine(
+                            rs.getObject("cart_item_id", UUID.class),
+                            rs.getObject("cart_id", UUID.class),
+                            rs.getObject("product_id", UUID.class),
+                            rs.getInt("quantity"),
+                            rs.getDouble("price")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load cart lines for customer " + customerId, e);
+        }
+        return lines;
+    }
+
+    @Override
+    public Optional<CartAggregate> findAggregateByCustomerId(Connection conn, UUID customerId) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_AGGREGATE_BY_CUSTOMER_ID)) {
+            ps.setObject(1, customerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return mapRowsToAggregate(rs);
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load cart aggregate for customer " + customerId, e);
+        }
+    }
+
+    private Optional<CartAggregate> mapRowsToAggregate(ResultSet rs) throws SQLException {
+        Cart cart = null;
+        List<CartItem> items = new ArrayList<>();
+        Map<UUID, Product> products = new HashMap<>();
+        while (rs.next()) {
+            if (cart == null) {
+                cart = new Cart(
+                        rs.getObject("cart_id", UUID.class),
+                        rs.getObject("customer_id", UUID.class),
+                        rs.getTimestamp("cart_created_at").toInstant(),
+                        rs.getTimestamp("cart_updated_at").toInstant()
+                );
+            }
+            UUID cartItemId = rs.getObject("cart_item_id", UUID.class);
+            if (cartItemId == null) continue;
+
+            CartItem item = mapRowToCartItem(rs);
+            items.add(item);
+            if (!products.containsKey(item.getProductId()))
+                products.put(item.getProductId(), mapRowToProduct(rs));
+        }
+        if (cart == null) return Optional.empty();
+        return Optional.of(new CartAggregate(cart, List.copyOf(items), Map.copyOf(products)));
+    }
+
+    private Product mapRowToProduct(ResultSet rs) throws SQLException {
+        return new Product(
+                rs.getObject("product_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getDouble("price"),
+                rs.getInt("stock_quantity"),
+                rs.getObject("category_id", UUID.class),
+                rs.getTimestamp("product_created_at").toInstant(),
+                rs.getTimestamp("product_updated_at").toInstant()
+        );
+    }
+
+    @Override
+    public void touchByCustomerId(Connection conn, UUID customerId, Instant updatedAt) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(TOUCH_BY_CUSTOMER_ID)) {
+            ps.setTimestamp(1, Timestamp.from(updatedAt));
+            ps.setObject(2, customerId);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to touch cart of customer " + customerId, e);
+        }
+    }
+
+    @Override
+    public CartPurgeResult deleteIdleCarts(Connection conn, Instant cutoff, int limit) throws DaoException {
+        List<UUID> customerIds = new ArrayList<>();
+        int deletedItems = 0;
+        try (PreparedStatement ps = conn.prepareStatement(DELETE_IDLE_CARTS)) {
+            ps.setTimestamp(1, Timestamp.from(cutoff));
+            ps.setInt(2, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    customerIds.add(rs.getObject("customer_id", UUID.class));
+                    deletedItems = rs.getInt("deleted_items");
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to delete idle carts", e);
+        }
+        return new CartPurgeResult(customerIds, deletedItems);
+    }
 }
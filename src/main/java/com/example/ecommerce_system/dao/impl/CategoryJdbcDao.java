@@ -4,12 +4,15 @@ import com.example.ecommerce_system.dao.interfaces.CategoryDao;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.exception.category.CategoryDeletionException;
 import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
 import com.example.ecommerce_system.dao.interfaces.StatementPreparer;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,19 +20,19 @@ import java.util.UUID;
 public class CategoryJdbcDao implements CategoryDao {
 
     private static  final String FIND_BY_ID = """
-            SELECT category_id, name, description, created_at, updated_at
+            SELECT category_id, name, description, created_at, updated_at, parent_id
             FROM category
             WHERE category_id = ?
             """;
 
     private static final String FIND_BY_NAME = """
-            SELECT category_id, name, description, created_at, updated_at
+            SELECT category_id, name, description, created_at, updated_at, parent_id
             FROM category
             WHERE LOWER(name) = LOWER(?)
             """;
 
     private static final String SEARCH_BY_NAME = """
-            SELECT category_id, name, description, created_at, updated_at
+            SELECT category_id, name, description, created_at, updated_at, parent_id
             FROM category
             WHERE LOWER(name) LIKE LOWER(?)
             ORDER BY name ASC
@@ -43,22 +46,91 @@ public class CategoryJdbcDao implements CategoryDao {
         """;
 
     private static final String FIND_ALL = """
-            SELECT category_id, name, description, created_at, updated_at
+            SELECT category_id, name, description, created_at, updated_at, parent_id
             FROM category
             ORDER BY name ASC
             LIMIT ? OFFSET ?
             """;
 
+    private static final String FIND_EVERY = """
+            SELECT category_id, name, description, created_at, updated_at, parent_id
+            FROM category
+            ORDER BY name ASC
+            """;
+
     private static final String SAVE = """
             INSERT INTO category (
-            category_id, name, description, created_at, updated_at)
-            VALUES (?, ?, ?, ?, ?)
+            category_id, name, description, created_at, updated_at, parent_id)
+            VALUES (?, ?, ?, ?, ?, ?)
             """;
 
     private static final String UPDATE = """
             UPDATE category
-            SET name = ?, description = ?, updated_at = ?
+            SET name = ?, description = ?, updated_at = ?, parent_id = ?
+            WHERE category_id = ?
+            """;
+
+    private static final String INSERT_CLOSURE = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT ancestor_id, ?, depth + 1
+            FROM category_closure
+            WHERE descendant_id = ?
+            UNION ALL
+            SELECT ?, ?, 0
+            """;
+
+    private static final String INSERT_PRODUCT_STATS = """
+            INSERT INTO category_product_stats (category_id, product_count, in_stock_count)
+            VALUES (?, 0, 0)
+            """;
+
+    private static final String LOCK_FOR_MOVE = """
+            SELECT category_id, name, description, created_at, updated_at, parent_id
+            FROM category
             WHERE category_id = ?
+               OR category_id IN (SELECT ancestor_id FROM category_closure WHERE descendant_id = ?)
+            ORDER BY category_id
+            FOR UPDATE
+            """;
+
+    private static final String IS_IN_SUBTREE = """
+            SELECT EXISTS (
+                SELECT 1 FROM category_closure WHERE ancestor_id = ? AND descendant_id = ?
+            )
+            """;
+
+    private static final String DETACH_SUBTREE = """
+            DELETE FROM category_closure
+            WHERE descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = ?)
+              AND ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = ?)
+            """;
+
+    private static final String ATTACH_SUBTREE = """
+            INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+            SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+            FROM category_closure above
+            CROSS JOIN category_closure below
+            WHERE above.descendant_id = ?
+              AND below.ancestor_id = ?
+            """;
+
+    private static final String FIND_SUBTREE_PRODUCT_COUNTS = """
+            SELECT category_id, product_count, in_stock_count
+            FROM category_product_stats
+            WHERE category_id = ?
+            """;
+
+    private static final String FIND_ALL_PRODUCT_COUNTS = """
+            SELECT category_id, product_count, in_stock_count
+            FROM category_product_stats
+            """;
+
+    private static final String ADJUST_SUBTREE_PRODUCT_COUNTS = """
+            UPDATE category_product_stats
+            SET product_count = product_count + ?, in_stock_count = in_stock_count + ?
+            WHERE category_id IN (
+                SELECT ancestor_id FROM category_closure WHERE descendant_id = ?
+            )
             """;
 
     private static final String COUNT = """
@@ -89,7 +161,8 @@ public class CategoryJdbcDao implements CategoryDao {
                 resultSet.getString("name"),
                 resultSet.getString("description"),
                 resultSet.getTimestamp("created_at").toInstant(),
-                resultSet.getTimestamp("updated_at").toInstant()
+                resultSet.getTimestamp("updated_at").toInstant(),
+                resultSet.getObject("parent_id", UUID.class)
         );
     }
 
@@ -141,6 +214,20 @@ public class CategoryJdbcDao implements CategoryDao {
         return categories;
     }
 
+    @Override
+    public List<Category> findAll(Connection conn) throws DaoException {
+        List<Category> categories = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(FIND_EVERY);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                categories.add(map(rs));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load categories", e);
+        }
+        return categories;
+    }
+
     @Override
     public void save(Connection conn, Category category) throws DaoException {
         try {
@@ -150,6 +237,7 @@ public class CategoryJdbcDao implements CategoryDao {
                 ps.setString(3, category.getDescription());
                 ps.setTimestamp(4, Timestamp.from(category.getCreatedAt()));
                 ps.setTimestamp(5, Timestamp.from(category.getUpdatedAt()));
+                ps.setObject(6, category.getParentId());
             });
         } catch (SQLException e) {
             throw new DaoException("Failed to save " + category.getName() + "category.", e);
@@ -170,13 +258,122 @@ public class CategoryJdbcDao implements CategoryDao {
                 ps.setString(1, category.getName());
                 ps.setString(2, category.getDescription());
                 ps.setTimestamp(3, Timestamp.from(category.getUpdatedAt()));
-                ps.setObject(4, category.getCategoryId());
+                ps.setObject(4, category.getParentId());
+                ps.setObject(5, category.getCategoryId());
             });
         } catch (SQLException e) {
             throw new DaoException("Failed to update " + category.getName() + "category.", e);
         }
     }
 
+    @Override
+    public void insertHierarchy(Connection conn, Category category) throws DaoException {
+        UUID categoryId = category.getCategoryId();
+        try {
+            insertionQuery(conn, INSERT_CLOSURE, ps -> {
+                ps.setObject(1, categoryId);
+                ps.setObject(2, category.getParentId());
+                ps.setObject(3, categoryId);
+                ps.setObject(4, categoryId);
+            });
+            insertionQuery(conn, INSERT_PRODUCT_STATS, ps -> ps.setObject(1, categoryId));
+        } catch (SQLException e) {
+            throw new DaoException("Failed to register category " + categoryId + " in the hierarchy", e);
+        }
+    }
+
+    @Override
+    public Optional<Category> lockForMove(Connection conn, UUID categoryId, UUID newParentId) throws DaoException {
+        Optional<Category> locked = Optional.empty();
+        try (PreparedStatement ps = conn.prepareStatement(LOCK_FOR_MOVE)) {
+            ps.setObject(1, categoryId);
+            ps.setObject(2, newParentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Category category = map(rs);
+                    if (category.getCategoryId().equals(categoryId)) locked = Optional.of(category);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to lock category " + categoryId, e);
+        }
+        return locked;
+    }
+
+    @Override
+    public boolean isInSubtree(Connection conn, UUID rootId, UUID categoryId) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(IS_IN_SUBTREE)) {
+            ps.setObject(1, rootId);
+            ps.setObject(2, categoryId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to check the subtree of category " + rootId, e);
+        }
+    }
+
+    @Override
+    public void moveSubtree(Connection conn, UUID categoryId, UUID newParentId) throws DaoException {
+        try {
+            insertionQuery(conn, DETACH_SUBTREE, ps -> {
+                ps.setObject(1, categoryId);
+                ps.setObject(2, categoryId);
+            });
+            if (newParentId == null) return;
+            insertionQuery(conn, ATTACH_SUBTREE, ps -> {
+                ps.setObject(1, newParentId);
+                ps.setObject(2, categoryId);
+            });
+        } catch (SQLException e) {
+            throw new DaoException("Failed to move category " + categoryId, e);
+        }
+    }
+
+    @Override
+    public CategoryProductCounts findSubtreeProductCounts(Connection conn, UUID categoryId) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_SUBTREE_PRODUCT_COUNTS)) {
+            ps.setObject(1, categoryId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapCounts(rs) : CategoryProductCounts.EMPTY;
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to count products of category " + categoryId, e);
+        }
+    }
+
+    @Override
+    public Map<UUID, CategoryProductCounts> findAllProductCounts(Connection conn) throws DaoException {
+        Map<UUID, CategoryProductCounts> counts = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(FIND_ALL_PRODUCT_COUNTS);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getObject("category_id", UUID.class), mapCounts(rs));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load category product counts", e);
+        }
+        return counts;
+    }
+
+    private CategoryProductCounts mapCounts(ResultSet rs) throws SQLException {
+        return new CategoryProductCounts(rs.getInt("product_count"), rs.getInt("in_stock_count"));
+    }
+
+    @Override
+    public void adjustSubtreeProductCounts(Connection conn, UUID categoryId, int productDelta, int inStockDelta)
+            throws DaoException {
+        try {
+            insertionQuery(conn, ADJUST_SUBTREE_PRODUCT_COUNTS, ps -> {
+                ps.setInt(1, productDelta);
+                ps.setInt(2, inStockDelta);
+                ps.setObject(3, categoryId);
+            });
+        } catch (SQLException e) {
+            throw new DaoException("Failed to adjust product counts of category " + categoryId, e);
+        }
+    }
+
     @Override
     public void delete(Connection conn, UUID categoryId) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(DELETE)) {
@@ -3,6 +3,8 @@ package com.example.ecommerce_system.dao.impl;
 import com.example.ecommerce_system.dao.interfaces.CustomerDao;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.CustomerSummary;
+import com.example.ecommerce_system.util.KeysetCursor;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -17,7 +19,19 @@ public class CustomerJdbcDao implements CustomerDao {
             SELECT c.customer_id, c.first_name, c.last_name, u.email, c.phone, u.created_at, c.is_active
             FROM customer c
             JOIN users u ON c.user_id = u.user_id
-            LIMIT ? OFFSET ?
+            """;
+
+    /*
+     * The leading range bound lets the created_at index seek to the cursor; the OR only resolves ties.
+     */
+    private static final String AFTER_CURSOR = """
+            WHERE u.created_at <= ?
+              AND (u.created_at < ? OR (u.created_at = ? AND c.customer_id > ?))
+            """;
+
+    private static final String PAGE_ORDER = """
+            ORDER BY u.created_at DESC, c.customer_id
+            LIMIT ?
             """;
 
     private static final String FIND_BY_ID = """
@@ -34,10 +48,37 @@ public class CustomerJdbcDao implements CustomerDao {
             WHERE c.user_id = ?
             """;
 
-    private static final String SAVE = """
-            INSERT INTO customer
-            (customer_id, user_id, first_name, last_name, phone)
-            VALUES (?, ?, ?, ?, ?)
+    /*
+     * One statement: each aggregate reads only the customer's rows through its customer_id index.
+     */
+    private static final String FIND_SUMMARY = """
+            SELECT c.customer_id,
+                   o.order_count, o.lifetime_spend, o.last_order_at,
+                   ci.cart_item_count, ci.cart_quantity,
+                   r.review_count
+            FROM customer c
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS order_count,
+                       COALESCE(SUM(ord.total_amount) FILTER (WHERE os.status_name IS DISTINCT FROM 'CANCELLED'), 0)
+                           AS lifetime_spend,
+                       MAX(ord.order_date) AS last_order_at
+                FROM orders ord
+                LEFT JOIN order_statuses os ON os.status_id = ord.status_id
+                WHERE ord.customer_id = c.customer_id
+            ) o
+            CROSS JOIN LATERAL (
+                SELECT COUNT(item.cart_item_id) AS cart_item_count,
+                       COALESCE(SUM(item.quantity), 0) AS cart_quantity
+                FROM cart
+                JOIN cart_item item ON item.cart_id = cart.cart_id
+                WHERE cart.customer_id = c.customer_id
+            ) ci
+            CROSS JOIN LATERAL (
+                SELECT COUNT(*) AS review_count
+                FROM review
+                WHERE review.customer_id = c.customer_id
+            ) r
+            WHERE c.customer_id = ?
             """;
 
     private static final String UPDATE = """
@@ -46,25 +87,82 @@ public class CustomerJdbcDao implements CustomerDao {
             WHERE customer_id = ?
             """;
 
+    /*
+     * Name and email matches are collected separately so each side can use its trigram GIN index,
+     * then ranked by how closely the query matches the best field.
+     */
     private static final String SEARCH = """
+            WITH matches AS (
+                SELECT customer_id
+                FROM customer
+                WHERE LOWER(first_name) LIKE LOWER(?) OR LOWER(last_name) LIKE LOWER(?)
+                UNION
+                SELECT c.customer_id
+                FROM users u
+                JOIN customer c ON c.user_id = u.user_id
+                WHERE LOWER(u.email) LIKE LOWER(?)
+            )
+            SELECT c.customer_id, c.first_name, c.last_name, u.email, c.phone, u.created_at, c.is_active,
+                   GREATEST(word_similarity(LOWER(?), LOWER(c.first_name)),
+                            word_similarity(LOWER(?), LOWER(c.last_name)),
+                            word_similarity(LOWER(?), LOWER(u.email))) AS relevance
+            FROM matches m
+            JOIN customer c ON c.customer_id = m.customer_id
+            JOIN users u ON c.user_id = u.user_id
+            ORDER BY relevance DESC, c.customer_id
+            LIMIT ? OFFSET ?
+            """;
+
+    /*
+     * Each branch is bounded and served by a prefix index on (LOWER(col) COLLATE "C", id). Matching and ordering
+     * both use the "C" collation, so the index finds the prefix range and returns it already in order, and each
+     * branch stops after its LIMIT rows instead of sorting every match. Every branch keeps its alphabetically first
+     * matches (id as tie-breaker), so the suggestions are the closest ones and stable between calls.
+     */
+    private static final String AUTOCOMPLETE = """
             SELECT c.customer_id, c.first_name, c.last_name, u.email, c.phone, u.created_at, c.is_active
             FROM customer c
             JOIN users u ON c.user_id = u.user_id
-            WHERE LOWER(c.first_name) LIKE LOWER(?)
-               OR LOWER(c.last_name) LIKE LOWER(?)
-               OR LOWER(u.email) LIKE LOWER(?)
-            LIMIT ? OFFSET ?
+            WHERE c.customer_id IN (
+                (SELECT customer_id FROM customer
+                 WHERE LOWER(first_name) COLLATE "C" LIKE LOWER(?)
+                 ORDER BY LOWER(first_name) COLLATE "C", customer_id
+                 LIMIT ?)
+                UNION
+                (SELECT customer_id FROM customer
+                 WHERE LOWER(last_name) COLLATE "C" LIKE LOWER(?)
+                 ORDER BY LOWER(last_name) COLLATE "C", customer_id
+                 LIMIT ?)
+                UNION
+                (SELECT c2.customer_id
+                 FROM users u2
+                 JOIN customer c2 ON c2.user_id = u2.user_id
+                 WHERE LOWER(u2.email) COLLATE "C" LIKE LOWER(?)
+                 ORDER BY LOWER(u2.email) COLLATE "C", u2.user_id
+                 LIMIT ?)
+            )
+            ORDER BY LOWER(c.first_name), LOWER(c.last_name), c.customer_id
+            LIMIT ?
             """;
 
     @Override
-    public List<Customer> findAll(Connection conn, int limit, int offset) throws DaoException {
-        try (PreparedStatement preparedStatement = conn.prepareStatement(FIND_ALL)) {
-            preparedStatement.setInt(1, limit);
-            preparedStatement.setInt(2, offset);
+    public List<Customer> findAll(Connection conn, KeysetCursor after, int limit) throws DaoException {
+        String sql = FIND_ALL + (after != null ? AFTER_CURSOR : "") + PAGE_ORDER;
+
+        try (PreparedStatement preparedStatement = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (after != null) {
+                Timestamp createdAt = Timestamp.from(after.sortKey());
+                preparedStatement.setTimestamp(index++, createdAt);
+                preparedStatement.setTimestamp(index++, createdAt);
+                preparedStatement.setTimestamp(index++, createdAt);
+                preparedStatement.setObject(index++, after.id());
+            }
+            preparedStatement.setInt(index, limit);
 
             return executeQueryForList(preparedStatement);
         } catch (SQLException e) {
-            throw new DaoException("Failed to load all products", e);
+            throw new DaoException("Failed to load all customers", e);
         }
     }
 
@@ -103,6 +201,28 @@ public class CustomerJdbcDao implements CustomerDao {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<CustomerSummary> findSummary(Connection conn, UUID customerId) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_SUMMARY)) {
+            ps.setObject(1, customerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return Optional.empty();
+                Timestamp lastOrderAt = rs.getTimestamp("last_order_at");
+                return Optional.of(new CustomerSummary(
+                        rs.getObject("customer_id", UUID.class),
+                        rs.getInt("order_count"),
+                        rs.getDouble("lifetime_spend"),
+                        lastOrderAt != null ? lastOrderAt.toInstant() : null,
+                        rs.getInt("cart_item_count"),
+                        rs.getInt("cart_quantity"),
+                        rs.getInt("review_count")
+                ));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to summarize customer " + customerId, e);
+        }
+    }
+
     @Override
     public Optional<Customer> findByUserId(Connection conn, UUID userId) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(FIND_BY_USER_ID)) {
@@ -116,20 +236,6 @@ public class CustomerJdbcDao implements CustomerDao {
         return Optional.empty();
     }
 
-    @Override
-    public void save(Connection conn, UUID userId, Customer customer) throws DaoException {
-        try (PreparedStatement ps = conn.prepareStatement(SAVE)) {
-            ps.setObject(1, customer.getCustomerId());
-            ps.setObject(2, userId);
-            ps.setString(3, customer.getFirstName());
-            ps.setString(4, customer.getLastName());
-            ps.setString(5, customer.getPhone());
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new DaoException("Failed to save customer " + customer.getCustomerId(), e);
-        }
-    }
-
     @Override
     public void update(Connection conn, Customer customer) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(UPDATE)) {
@@ -147,16 +253,39 @@ public class CustomerJdbcDao implements CustomerDao {
     @Override
     public List<Customer> search(Connection conn, String query, int limit, int offset) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(SEARCH)) {
-            String searchPattern = "%" + query + "%";
+            String searchPattern = "%" + escapeLike(query) + "%";
             ps.setString(1, searchPattern);
             ps.setString(2, searchPattern);
             ps.setString(3, searchPattern);
-            ps.setInt(4, limit);
-            ps.setInt(5, offset);
+            ps.setString(4, query);
+            ps.setString(5, query);
+            ps.setString(6, query);
+            ps.setInt(7, limit);
+            ps.setInt(8, offset);
 
             return executeQueryForList(ps);
         } catch (SQLException e) {
             throw new DaoException("Failed to search customers with query: " + query, e);
         }
     }
+
+    @Override
+    public List<Customer> autocomplete(Connection conn, String prefix, int limit) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(AUTOCOMPLETE)) {
+            String prefixPattern = escapeLike(prefix) + "%";
+            for (int branch = 0; branch < 3; branch++) {
+                ps.setString(2 * branch + 1, prefixPattern);
+                ps.setInt(2 * branch + 2, limit);
+            }
+            ps.setInt(7, limit);
+
+            return executeQueryForList(ps);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to autocomplete customers with prefix: " + prefix, e);
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package com.example.ecommerce_system.dao.impl;
 
 import com.example.ecommerce_system.dao.interfaces.OrdersDao;
 import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.model.OrderStatus;
 import com.example.ecommerce_system.model.Orders;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.stereotype.Component;
 
 import java.sql.*;
@@ -15,6 +18,9 @@ import java.util.UUID;
 
 @Component
 public class OrdersJdbcDao implements OrdersDao {
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String CUSTOMER_FOREIGN_KEY = "fk_customer_in_orders";
+
     private static final String FIND_BY_ID = """
         SELECT o.order_id, o.customer_id, os.status_name, o.order_date, o.total_amount,
                o.shipping_country, o.shipping_city, o.shipping_postal_code
@@ -134,10 +140,18 @@ public class OrdersJdbcDao implements OrdersDao {
             ps.setString(8, order.getShippingPostalCode());
             ps.executeUpdate();
         } catch (SQLException e) {
+            // The customer id comes from the access token, so the customer may have been deleted since it was issued
+            if (violates(e, CUSTOMER_FOREIGN_KEY)) throw new CustomerNotFoundException(order.getCustomerId().toString());
             throw new DaoException("Failed to save order " + order.getOrderId(), e);
         }
     }
 
+    private static boolean violates(SQLException e, String constraint) {
+        if (!(e instanceof PSQLException psqlException) || !FOREIGN_KEY_VIOLATION.equals(e.getSQLState())) return false;
+        ServerErrorMessage message = psqlException.getServerErrorMessage();
+        return message != null && constraint.equals(message.getConstraint());
+    }
+
     @Override
     public void update(Connection conn, Orders order) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(UPDATE)) {
@@ -10,7 +10,9 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,24 +20,26 @@ import java.util.UUID;
 @Repository
 public class ProductJdbcDao implements ProductDao {
 
-    private static final String FIND_BY_ID = """
-            SELECT product_id, name, description, price, stock_quantity,
-                   category_id, created_at, updated_at
-            FROM product WHERE product_id = ?
+    private static final String PRODUCT_COLUMNS = """
+            SELECT p.product_id, p.name, p.description, p.price,
+                   p.stock_quantity, p.category_id, p.created_at, p.updated_at
+            FROM product p
+            """;
+
+    private static final String FIND_BY_ID = PRODUCT_COLUMNS + """
+            WHERE p.product_id = ?
+            """;
+
+    private static final String FIND_BY_IDS = PRODUCT_COLUMNS + """
+            WHERE p.product_id = ANY(?)
             """;
 
-    private static final String FIND_ALL = """
-            SELECT product_id, name, description, price,
-                   stock_quantity, category_id, created_at, updated_at
-            FROM product
-            ORDER BY LOWER(name) ASC
+    private static final String FIND_ALL = PRODUCT_COLUMNS + """
+            ORDER BY LOWER(p.name) ASC
             LIMIT ? OFFSET ?
             """;
 
-    private static final String FILTER = """
-            SELECT p.product_id, p.name, p.description, p.price,
-                   p.stock_quantity, p.category_id, p.created_at, p.updated_at
-            FROM product p
+    private static final String FILTER = PRODUCT_COLUMNS + """
             JOIN category c ON c.category_id = p.category_id
             """;
 
@@ -64,12 +68,24 @@ public class ProductJdbcDao implements ProductDao {
             DELETE FROM product WHERE product_id = ?
             """;
 
+    private static final String FIND_BY_ID_FOR_UPDATE = PRODUCT_COLUMNS + """
+            WHERE p.product_id = ?
+            FOR UPDATE OF p
+            """;
+
     private static final String UPDATE_STOCK = """
             UPDATE product
             SET stock_quantity = ?, updated_at = ?
             WHERE product_id = ?
             """;
 
+    private static final String FIND_INSUFFICIENT_STOCK = """
+            SELECT r.product_id
+            FROM unnest(?::uuid[], ?::int[]) AS r(product_id, quantity)
+            LEFT JOIN product p ON p.product_id = r.product_id
+            WHERE p.product_id IS NULL OR p.stock_quantity < r.quantity
+            """;
+
     @Override
     public Optional<Product> findById(Connection conn, UUID productId) throws DaoException {
         try (PreparedStatement preparedStatement = conn.prepareStatement(FIND_BY_ID)) {
@@ -98,6 +114,19 @@ public class ProductJdbcDao implements ProductDao {
         }
     }
 
+    @Override
+    public Optional<Product> findByIdForUpdate(Connection conn, UUID productId) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_BY_ID_FOR_UPDATE)) {
+            ps.setObject(1, productId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return Optional.of(mapRowToProduct(rs));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to lock product " + productId, e);
+        }
+        return Optional.empty();
+    }
+
     @Override
     public List<Product> findFiltered(Connection conn, ProductFilter filter, int limit, int offset) throws DaoException {
         SqlAndParams where = buildWhereClause(filter);
@@ -199,6 +228,34 @@ public class ProductJdbcDao implements ProductDao {
         }
     }
 
+    @Override
+    public List<UUID> findInsufficientStock(Connection conn, Map<UUID, Integer> quantities) throws DaoException {
+        List<UUID> insufficient = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(FIND_INSUFFICIENT_STOCK)) {
+            ps.setArray(1, conn.createArrayOf("uuid", quantities.keySet().toArray()));
+            ps.setArray(2, conn.createArrayOf("integer", quantities.values().toArray()));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    insufficient.add(rs.getObject("product_id", UUID.class));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to check product stock", e);
+        }
+        return insufficient;
+    }
+
+    @Override
+    public List<Product> findByIds(Connection conn, Collection<UUID> productIds) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_BY_IDS)) {
+            ps.setArray(1, conn.createArrayOf("uuid", productIds.toArray()));
+            return executeQueryForList(ps);
+        } catch (SQLException e) {
+            throw new DaoException("Failed to find products by ids", e);
+        }
+    }
+
     private Product mapRowToProduct(ResultSet resultSet) throws SQLException {
         return new Product(
                 resultSet.getObject("product_id", UUID.class),
@@ -230,20 +287,25 @@ public class ProductJdbcDao implements ProductDao {
         return index;
     }
 
+    /**
+     * A category filter matches the category's whole subtree through one join on the closure table.
+     */
     private SqlAndParams buildWhereClause(ProductFilter filter) {
-        StringBuilder sql = new StringBuilder(" WHERE 1=1");
+        StringBuilder sql = new StringBuilder();
         List<Object> params = new ArrayList<>();
 
+        if (filter.hasCategoryId()) {
+            sql.append(" JOIN category_closure cc ON cc.descendant_id = p.category_id AND cc.ancestor_id = ?");
+            params.add(filter.getCategoryId());
+        }
+
+        sql.append(" WHERE 1=1");
+
         if (filter.hasName() && !filter.getName().isBlank()) {
             sql.append(" AND p.name ILIKE ? ");
             params.add("%" + filter.getName() + "%");
         }
 
-        if (filter.hasCategoryId()) {
-            sql.append(" AND p.category_id = ?");
-            params.add(filter.getCategoryId());
-        }
-
         return new SqlAndParams(sql.toString(), params);
     }
 }
@@ -1,39 +1,112 @@
 package com.example.ecommerce_system.dao.impl;
 
 import com.example.ecommerce_system.dao.interfaces.ReviewDao;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
 import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.ProductRatingStats;
+import com.example.ecommerce_system.model.RawJson;
 import com.example.ecommerce_system.model.Review;
+import com.example.ecommerce_system.util.KeysetCursor;
+import com.example.ecommerce_system.util.SqlAndParams;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Repository;
 
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @NoArgsConstructor
 @Repository
 public class ReviewJdbcDao implements ReviewDao {
 
     private static final String FIND_BY_PRODUCT = """
-        SELECT review_id, product_id, customer_id, rating, comment::text, created_at
-        FROM review
-        WHERE product_id = ?
-        ORDER BY created_at DESC
-        LIMIT ? OFFSET ?
+        SELECT r.review_id, r.product_id, r.customer_id, r.rating, r.comment::text AS comment, r.created_at,
+               c.first_name, c.last_name, c.phone, c.is_active,
+               u.email, u.created_at AS customer_created_at
+        FROM review r
+        JOIN customer c ON c.customer_id = r.customer_id
+        JOIN users u ON u.user_id = c.user_id
+        WHERE r.product_id = ?
+        """;
+
+    private static final String SEARCH = """
+        SELECT r.review_id, r.product_id, r.customer_id, r.rating, r.comment::text AS comment, r.created_at,
+               c.first_name, c.last_name, c.phone, c.is_active,
+               u.email, u.created_at AS customer_created_at
+        FROM review r
+        JOIN customer c ON c.customer_id = r.customer_id
+        JOIN users u ON u.user_id = c.user_id
+        WHERE 1=1
+        """;
+
+    /*
+     * The leading range bound lets the (product_id, created_at) index seek to the cursor; the OR only resolves ties.
+     */
+    private static final String AFTER_CURSOR = """
+          AND r.created_at <= ?
+          AND (r.created_at < ? OR (r.created_at = ? AND r.review_id > ?))
+        """;
+
+    private static final String PAGE_ORDER = """
+        ORDER BY r.created_at DESC, r.review_id
+        LIMIT ?
+        """;
+
+    private static final String FIND_TOP_BY_PRODUCTS = """
+        SELECT r.review_id, r.product_id, r.customer_id, r.rating, r.comment, r.created_at,
+               c.first_name, c.last_name, c.phone, c.is_active,
+               u.email, u.created_at AS customer_created_at
+        FROM (
+            SELECT review_id, product_id, customer_id, rating, comment::text AS comment, created_at,
+                   ROW_NUMBER() OVER (PARTITION BY product_id ORDER BY created_at DESC, review_id) AS rn
+            FROM review
+            WHERE product_id = ANY(?)
+        ) r
+        JOIN customer c ON c.customer_id = r.customer_id
+        JOIN users u ON u.user_id = c.user_id
+        WHERE r.rn <= ?
+        ORDER BY r.product_id, r.rn
+        """;
+
+    private static final String INCREMENT_RATING_STATS = """
+        INSERT INTO product_rating_stats AS s (product_id, review_count, rating_sum,
+                                               rating_1, rating_2, rating_3, rating_4, rating_5)
+        VALUES (?, 1, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (product_id) DO UPDATE SET
+            review_count = s.review_count + 1,
+            rating_sum = s.rating_sum + EXCLUDED.rating_sum,
+            rating_1 = s.rating_1 + EXCLUDED.rating_1,
+            rating_2 = s.rating_2 + EXCLUDED.rating_2,
+            rating_3 = s.rating_3 + EXCLUDED.rating_3,
+            rating_4 = s.rating_4 + EXCLUDED.rating_4,
+            rating_5 = s.rating_5 + EXCLUDED.rating_5
+        """;
+
+    private static final String FIND_RATING_STATS = """
+        SELECT product_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5
+        FROM product_rating_stats
+        WHERE product_id = ANY(?)
         """;
 
     @Override
-    public List<Review> findByProduct(Connection conn, UUID productId, int limit, int offset)
+    public List<Review> findByProduct(Connection conn, UUID productId, KeysetCursor after, int limit)
             throws DaoException {
 
         List<Review> reviews = new ArrayList<>();
+        String sql = FIND_BY_PRODUCT + (after != null ? AFTER_CURSOR : "") + PAGE_ORDER;
 
-        try (PreparedStatement ps = conn.prepareStatement(FIND_BY_PRODUCT)) {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setObject(1, productId);
-            ps.setInt(2, limit);
-            ps.setInt(3, offset);
+            int index = 1;
+            ps.setObject(index++, productId);
+            if (after != null) {
+                Timestamp createdAt = Timestamp.from(after.sortKey());
+                ps.setTimestamp(index++, createdAt);
+                ps.setTimestamp(index++, createdAt);
+                ps.setTimestamp(index++, createdAt);
+                ps.setObject(index++, after.id());
+            }
+            ps.setInt(index, limit);
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next())
@@ -45,14 +118,119 @@ public class ReviewJdbcDao implements ReviewDao {
         return reviews;
     }
 
+    @Override
+    public List<Review> search(Connection conn, ReviewFilter filter, KeysetCursor after, int limit) throws DaoException {
+        List<Review> reviews = new ArrayList<>();
+        SqlAndParams where = buildWhereClause(filter, after);
+        String sql = SEARCH + where.sql() + PAGE_ORDER;
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (Object param : where.params())
+                ps.setObject(index++, param);
+            ps.setInt(index, limit);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next())
+                    reviews.add(map(rs));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to search reviews", e);
+        }
+        return reviews;
+    }
+
+    @Override
+    public Map<UUID, List<Review>> findTopByProducts(Connection conn, Collection<UUID> productIds, int perProduct)
+            throws DaoException {
+
+        Map<UUID, List<Review>> reviews = new HashMap<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(FIND_TOP_BY_PRODUCTS)) {
+
+            ps.setArray(1, conn.createArrayOf("uuid", productIds.toArray()));
+            ps.setInt(2, perProduct);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Review review = map(rs);
+                    reviews.computeIfAbsent(review.getProductId(), id -> new ArrayList<>()).add(review);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to fetch top reviews for products", e);
+        }
+        return reviews;
+    }
+
+    private SqlAndParams buildWhereClause(ReviewFilter filter, KeysetCursor after) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+
+        if (filter.hasProductId()) {
+            sql.append("  AND r.product_id = ?\n");
+            params.add(filter.getProductId());
+        }
+
+        if (filter.hasKeywords()) {
+            sql.append("  AND to_tsvector('simple', r.comment) @@ plainto_tsquery('simple', ?)\n");
+            params.add(filter.getKeywords());
+        }
+
+        if (filter.hasMinRating()) {
+            sql.append("  AND r.rating >= ?\n");
+            params.add(filter.getMinRating());
+        }
+
+        if (filter.hasMaxRating()) {
+            sql.append("  AND r.rating <= ?\n");
+            params.add(filter.getMaxRating());
+        }
+
+        if (filter.hasCreatedFrom()) {
+            sql.append("  AND r.created_at >= ?\n");
+            params.add(Timestamp.from(filter.getCreatedFrom()));
+        }
+
+        if (filter.hasCreatedTo()) {
+            sql.append("  AND r.created_at <= ?\n");
+            params.add(Timestamp.from(filter.getCreatedTo()));
+        }
+
+        if (after != null) {
+            Timestamp createdAt = Timestamp.from(after.sortKey());
+            sql.append(AFTER_CURSOR);
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(createdAt);
+            params.add(after.id());
+        }
+
+        return new SqlAndParams(sql.toString(), params);
+    }
+
     private Review map(ResultSet rs) throws SQLException {
         return new Review(
                 rs.getObject("review_id", UUID.class),
                 rs.getObject("product_id", UUID.class),
                 rs.getObject("customer_id", UUID.class),
                 rs.getInt("rating"),
-                rs.getString("comment"),
-                rs.getTimestamp("created_at").toInstant()
+                RawJson.of(rs.getString("comment")),
+                rs.getTimestamp("created_at").toInstant(),
+                mapCustomer(rs)
+        );
+    }
+
+    private Customer mapCustomer(ResultSet rs) throws SQLException {
+        return new Customer(
+                rs.getObject("customer_id", UUID.class),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"),
+                rs.getString("phone"),
+                rs.getTimestamp("customer_created_at").toInstant(),
+                rs.getBoolean("is_active")
         );
     }
 
@@ -68,11 +246,54 @@ public class ReviewJdbcDao implements ReviewDao {
             ps.setObject(2, review.getProductId());
             ps.setObject(3, review.getCustomerId());
             ps.setInt(4, review.getRating());
-            ps.setString(5, review.getComment());
+            ps.setString(5, review.getComment() != null ? review.getComment().json() : null);
             ps.setTimestamp(6, Timestamp.from(review.getCreatedAt()));
             ps.executeUpdate();
         } catch (SQLException e) {
             throw new DaoException("Failed to save review", e);
         }
     }
+
+    @Override
+    public void incrementRatingStats(Connection conn, UUID productId, int rating) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(INCREMENT_RATING_STATS)) {
+            ps.setObject(1, productId);
+            ps.setInt(2, rating);
+            for (int star = 1; star <= 5; star++)
+                ps.setInt(2 + star, star == rating ? 1 : 0);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to update rating stats for product " + productId, e);
+        }
+    }
+
+    @Override
+    public Map<UUID, ProductRatingStats> findRatingStats(Connection conn, Collection<UUID> productIds)
+            throws DaoException {
+
+        Map<UUID, ProductRatingStats> stats = new HashMap<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(FIND_RATING_STATS)) {
+            ps.setArray(1, conn.createArrayOf("uuid", productIds.toArray()));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    stats.put(rs.getObject("product_id", UUID.class), new ProductRatingStats(
+                            rs.getInt("review_count"),
+                            rs.getLong("rating_sum"),
+                            List.of(
+                                    rs.getInt("rating_1"),
+                                    rs.getInt("rating_2"),
+                                    rs.getInt("rating_3"),
+                                    rs.getInt("rating_4"),
+                                    rs.getInt("rating_5")
+                            )
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to fetch rating stats for products", e);
+        }
+        return stats;
+    }
 }
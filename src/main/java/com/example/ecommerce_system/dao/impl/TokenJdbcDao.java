@@ -0,0 +1,146 @@
+package com.example.ecommerce_system.dao.impl;
+
+import com.example.ecommerce_system.dao.interfaces.TokenDao;
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.RefreshToken;
+import org.springframework.stereotype.Repository;
+
+import java.sql.*;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class TokenJdbcDao implements TokenDao {
+
+    private static final String SAVE_REFRESH_TOKEN = """
+            INSERT INTO refresh_token (token_id, user_id, token_hash, access_token_id, expires_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String FIND_REFRESH_TOKEN_BY_HASH_FOR_UPDATE = """
+            SELECT token_id, user_id, token_hash, access_token_id, expires_at, created_at, revoked_at
+            FROM refresh_token
+            WHERE token_hash = ?
+            FOR UPDATE
+            """;
+
+    private static final String REVOKE_REFRESH_TOKEN = """
+            UPDATE refresh_token SET revoked_at = ? WHERE token_id = ? AND revoked_at IS NULL
+            """;
+
+    private static final String SAVE_REVOKED_ACCESS_TOKEN = """
+            INSERT INTO revoked_access_token (token_id, expires_at)
+            VALUES (?, ?)
+            ON CONFLICT (token_id) DO NOTHING
+            """;
+
+    private static final String FIND_ACTIVE_REVOKED_ACCESS_TOKENS = """
+            SELECT token_id, expires_at FROM revoked_access_token WHERE expires_at > ?
+            """;
+
+    private static final String DELETE_EXPIRED_REFRESH_TOKENS = """
+            DELETE FROM refresh_token WHERE expires_at <= ?
+            """;
+
+    private static final String DELETE_EXPIRED_REVOKED_ACCESS_TOKENS = """
+            DELETE FROM revoked_access_token WHERE expires_at <= ?
+            """;
+
+    @Override
+    public void saveRefreshToken(Connection conn, RefreshToken token) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(SAVE_REFRESH_TOKEN)) {
+            ps.setObject(1, token.getTokenId());
+            ps.setObject(2, token.getUserId());
+            ps.setString(3, token.getTokenHash());
+            ps.setObject(4, token.getAccessTokenId());
+            ps.setTimestamp(5, Timestamp.from(token.getExpiresAt()));
+            ps.setTimestamp(6, Timestamp.from(token.getCreatedAt()));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to save refresh token " + token.getTokenId(), e);
+        }
+    }
+
+    @Override
+    public Optional<RefreshToken> findRefreshTokenByHashForUpdate(Connection conn, String tokenHash) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_REFRESH_TOKEN_BY_HASH_FOR_UPDATE)) {
+            ps.setString(1, tokenHash);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return Optional.of(mapRowToRefreshToken(rs));
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to find refresh token", e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void revokeRefreshToken(Connection conn, UUID tokenId, Instant revokedAt) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(REVOKE_REFRESH_TOKEN)) {
+            ps.setTimestamp(1, Timestamp.from(revokedAt));
+            ps.setObject(2, tokenId);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to revoke refresh token " + tokenId, e);
+        }
+    }
+
+    @Override
+    public void saveRevokedAccessToken(Connection conn, UUID tokenId, Instant expiresAt) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(SAVE_REVOKED_ACCESS_TOKEN)) {
+            ps.setObject(1, tokenId);
+            ps.setTimestamp(2, Timestamp.from(expiresAt));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new DaoException("Failed to revoke access token " + tokenId, e);
+        }
+    }
+
+    @Override
+    public Map<UUID, Instant> findActiveRevokedAccessTokens(Connection conn, Instant now) throws DaoException {
+        Map<UUID, Instant> revoked = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(FIND_ACTIVE_REVOKED_ACCESS_TOKENS)) {
+            ps.setTimestamp(1, Timestamp.from(now));
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    revoked.put(rs.getObject("token_id", UUID.class), rs.getTimestamp("expires_at").toInstant());
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load revoked access tokens", e);
+        }
+        return revoked;
+    }
+
+    @Override
+    public int deleteExpired(Connection conn, Instant now) throws DaoException {
+        int deleted = 0;
+        for (String sql : new String[]{DELETE_EXPIRED_REFRESH_TOKENS, DELETE_EXPIRED_REVOKED_ACCESS_TOKENS}) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setTimestamp(1, Timestamp.from(now));
+                deleted += ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new DaoException("Failed to delete expired tokens", e);
+            }
+        }
+        return deleted;
+    }
+
+    private RefreshToken mapRowToRefreshToken(ResultSet rs) throws SQLException {
+        Timestamp revokedAt = rs.getTimestamp("revoked_at");
+        return RefreshToken.builder()
+                .tokenId(rs.getObject("token_id", UUID.class))
+                .userId(rs.getObject("user_id", UUID.class))
+                .tokenHash(rs.getString("token_hash"))
+                .accessTokenId(rs.getObject("access_token_id", UUID.class))
+                .expiresAt(rs.getTimestamp("expires_at").toInstant())
+                .createdAt(rs.getTimestamp("created_at").toInstant())
+                .revokedAt(revokedAt != null ? revokedAt.toInstant() : null)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.ecommerce_system.dao.impl;
 
 import com.example.ecommerce_system.dao.interfaces.UserDao;
 import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.Customer;
 import com.example.ecommerce_system.model.Role;
 import com.example.ecommerce_system.model.User;
 import org.springframework.stereotype.Repository;
@@ -9,22 +10,44 @@ import org.springframework.stereotype.Repository;
 import java.sql.*;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 public class UserJdbcDao implements UserDao {
 
     private static final String FIND_BY_EMAIL = """
-            SELECT u.user_id, u.email, u.password_hash, r.role_name as role, u.created_at
+            SELECT u.user_id, u.email, u.password_hash, r.role_name as role, u.created_at, c.customer_id
             FROM users u
             JOIN roles r ON u.role_id = r.role_id
+            LEFT JOIN customer c ON c.user_id = u.user_id
             WHERE u.email = ?
             """;
 
+    private static final String FIND_BY_ID = """
+            SELECT u.user_id, u.email, u.password_hash, r.role_name as role, u.created_at, c.customer_id
+            FROM users u
+            JOIN roles r ON u.role_id = r.role_id
+            LEFT JOIN customer c ON c.user_id = u.user_id
+            WHERE u.user_id = ?
+            """;
+
     private static final String SAVE = """
-            INSERT INTO users (user_id, email, password_hash, role_id, created_at)
-            VALUES (?, ?, ?, (SELECT role_id FROM roles WHERE role_name = ?), ?)
+            WITH new_user AS (
+                INSERT INTO users (user_id, email, password_hash, role_id, created_at)
+                VALUES (?, ?, ?, (SELECT role_id FROM roles WHERE role_name = ?), ?)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING user_id
+            )
+            INSERT INTO customer (customer_id, user_id, first_name, last_name, phone)
+            SELECT ?, user_id, ?, ?, ? FROM new_user
             """;
 
+    private static final String FIND_ALL_EMAILS = """
+            SELECT email FROM users
+            """;
+
+    private static final int EMAIL_FETCH_SIZE = 1000;
+
     @Override
     public Optional<User> findByEmail(Connection conn, String email) throws DaoException {
         try (PreparedStatement preparedStatement = conn.prepareStatement(FIND_BY_EMAIL)) {
@@ -41,6 +64,22 @@ public class UserJdbcDao implements UserDao {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<User> findById(Connection conn, UUID userId) throws DaoException {
+        try (PreparedStatement preparedStatement = conn.prepareStatement(FIND_BY_ID)) {
+            preparedStatement.setObject(1, userId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return Optional.of(mapRowToUser(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to find user with id: " + userId, e);
+        }
+        return Optional.empty();
+    }
+
     private User mapRowToUser(ResultSet resultSet) throws SQLException {
         return User.builder()
                 .userId(resultSet.getObject("user_id", UUID.class))
@@ -48,22 +87,41 @@ public class UserJdbcDao implements UserDao {
                 .passwordHash(resultSet.getString("password_hash"))
                 .role(Role.valueOf(resultSet.getString("role").toUpperCase()))
                 .createdAt(resultSet.getTimestamp("created_at").toInstant())
+                .customerId(resultSet.getObject("customer_id", UUID.class))
                 .build();
     }
 
     @Override
-    public void save(Connection conn, User user) throws DaoException {
+    public boolean save(Connection conn, User user, Customer customer) throws DaoException {
         try (PreparedStatement ps = conn.prepareStatement(SAVE)) {
             ps.setObject(1, user.getUserId());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPasswordHash());
             ps.setString(4, user.getRole().name());
             ps.setTimestamp(5, Timestamp.from(user.getCreatedAt()));
+            ps.setObject(6, customer.getCustomerId());
+            ps.setString(7, customer.getFirstName());
+            ps.setString(8, customer.getLastName());
+            ps.setString(9, customer.getPhone());
 
-            ps.executeUpdate();
+            return ps.executeUpdate() == 1;
         } catch (SQLException e) {
-            System.out.println("[DEBUG]: " + e.getMessage());
             throw new DaoException("Error saving user", e);
         }
     }
+
+    @Override
+    public void forEachEmail(Connection conn, Consumer<String> consumer) throws DaoException {
+        try (PreparedStatement ps = conn.prepareStatement(FIND_ALL_EMAILS)) {
+            ps.setFetchSize(EMAIL_FETCH_SIZE);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getString("email"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException("Failed to load user emails", e);
+        }
+    }
 }
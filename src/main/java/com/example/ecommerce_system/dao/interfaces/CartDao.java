@@ -2,9 +2,13 @@ package com.example.ecommerce_system.dao.interfaces;
 
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartAggregate;
 import com.example.ecommerce_system.model.CartItem;
+import com.example.ecommerce_system.model.CartLine;
+import com.example.ecommerce_system.model.CartPurgeResult;
 
 import java.sql.Connection;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -77,4 +81,94 @@ public interface CartDao {
      * @throws DaoException on DAO errors
      */
     List<CartItem> findItemsByCartId(Connection connection, UUID cartId) throws DaoException;
+
+    /**
+     * Insert multiple new {@link CartItem}s in batch.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param items cart items to insert
+     * @throws DaoException on DAO errors
+     */
+    void addItemsBatch(Connection connection, List<CartItem> items) throws DaoException;
+
+    /**
+     * Update the quantity of multiple cart items in batch.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param items cart items carrying their id and new quantity
+     * @throws DaoException on DAO errors, or when one of the items no longer exists
+     */
+    void updateItemQuantitiesBatch(Connection connection, List<CartItem> items) throws DaoException;
+
+    /**
+     * Insert or refresh multiple {@link Cart}s in batch.
+     * Existing carts only have their {@code updated_at} refreshed.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param carts carts to insert or refresh
+     * @throws DaoException on DAO errors
+     */
+    void upsertBatch(Connection connection, List<Cart> carts) throws DaoException;
+
+    /**
+     * Insert or update multiple {@link CartItem}s in batch.
+     * Existing cart items only have their quantity updated.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param items cart items to insert or update
+     * @throws DaoException on DAO errors
+     */
+    void upsertItemsBatch(Connection connection, List<CartItem> items) throws DaoException;
+
+    /**
+     * Delete multiple cart items by id in batch.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param cartItemIds cart item identifiers to delete
+     * @throws DaoException on DAO errors
+     */
+    void deleteItemsBatch(Connection connection, List<UUID> cartItemIds) throws DaoException;
+
+    /**
+     * Load every item of a customer's cart together with the current product price and lock the items
+     * until the transaction ends, so the same cart cannot be checked out twice concurrently.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param customerId customer identifier
+     * @return cart lines, oldest first; empty when the customer has no cart or no items
+     * @throws DaoException on DAO errors
+     */
+    List<CartLine> findLinesForCheckout(Connection connection, UUID customerId) throws DaoException;
+
+    /**
+     * Load a customer's cart together with its items and the products they reference in a single query.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param customerId customer identifier
+     * @return the cart aggregate with items newest first, or empty when the customer has no cart
+     * @throws DaoException on DAO errors
+     */
+    Optional<CartAggregate> findAggregateByCustomerId(Connection connection, UUID customerId) throws DaoException;
+
+    /**
+     * Refresh {@code updated_at} of a customer's cart so it is not considered abandoned.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param customerId customer identifier
+     * @param updatedAt new last-activity timestamp
+     * @throws DaoException on DAO errors
+     */
+    void touchByCustomerId(Connection connection, UUID customerId, Instant updatedAt) throws DaoException;
+
+    /**
+     * Delete up to {@code limit} carts, together with their items, that have not been updated since {@code cutoff}.
+     * Carts locked by concurrent cart mutations are skipped.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param cutoff carts last updated before this instant are deleted
+     * @param limit maximum number of carts to delete
+     * @return the customers whose carts were deleted and the number of deleted cart items
+     * @throws DaoException on DAO errors
+     */
+    CartPurgeResult deleteIdleCarts(Connection connection, Instant cutoff, int limit) throws DaoException;
 }
@@ -3,9 +3,11 @@ package com.example.ecommerce_system.dao.interfaces;
 
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
 
 import java.sql.Connection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -72,6 +74,90 @@ public interface CategoryDao {
      */
     List<Category> findAll(Connection connection, int limit, int offset) throws DaoException;
 
+    /**
+     * Retrieve every category, ordered by name.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @return list of categories
+     * @throws DaoException on Dao errors
+     */
+    List<Category> findAll(Connection connection) throws DaoException;
+
+    /**
+     * Register a newly saved category in the closure table under its parent, and create its
+     * zeroed product statistics row.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param category the saved category
+     * @throws DaoException on Dao errors
+     */
+    void insertHierarchy(Connection connection, Category category) throws DaoException;
+
+    /**
+     * Lock a category row together with its prospective parent and every ancestor of that parent
+     * ({@code SELECT ... FOR UPDATE}, in id order), so concurrent moves touching the same path run one after the other.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param categoryId category being updated
+     * @param newParentId prospective parent, or {@code null} to lock only the category
+     * @return the locked category as currently committed, or empty when it no longer exists
+     * @throws DaoException on Dao errors
+     */
+    Optional<Category> lockForMove(Connection connection, UUID categoryId, UUID newParentId) throws DaoException;
+
+    /**
+     * Whether {@code categoryId} is {@code rootId} itself or one of its descendants, according to the closure table.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param rootId root of the subtree
+     * @param categoryId category to look for
+     * @return true when the category lies in the subtree
+     * @throws DaoException on Dao errors
+     */
+    boolean isInSubtree(Connection connection, UUID rootId, UUID categoryId) throws DaoException;
+
+    /**
+     * Re-attach the subtree rooted at a category under a new parent in the closure table.
+     * A {@code null} parent makes the category a root.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param categoryId root of the subtree to move
+     * @param newParentId new parent, or {@code null}
+     * @throws DaoException on Dao errors
+     */
+    void moveSubtree(Connection connection, UUID categoryId, UUID newParentId) throws DaoException;
+
+    /**
+     * Read the precomputed product counts of a category's subtree.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param categoryId root of the subtree
+     * @return number of products, and of products in stock, in the category and all its descendants
+     * @throws DaoException on Dao errors
+     */
+    CategoryProductCounts findSubtreeProductCounts(Connection connection, UUID categoryId) throws DaoException;
+
+    /**
+     * Read the precomputed subtree product counts of every category in a single query.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @return counts keyed by category id
+     * @throws DaoException on Dao errors
+     */
+    Map<UUID, CategoryProductCounts> findAllProductCounts(Connection connection) throws DaoException;
+
+    /**
+     * Add the given deltas to the precomputed product counts of a category and every one of its ancestors.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param categoryId category whose products changed
+     * @param productDelta number of products added, negative when removed
+     * @param inStockDelta number of products that came into stock, negative when they ran out or were removed
+     * @throws DaoException on Dao errors
+     */
+    void adjustSubtreeProductCounts(Connection connection, UUID categoryId, int productDelta, int inStockDelta)
+            throws DaoException;
+
     /**
      * Delete a category by id.
      *
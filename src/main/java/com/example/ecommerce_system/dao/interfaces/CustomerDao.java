@@ -2,6 +2,8 @@ package com.example.ecommerce_system.dao.interfaces;
 
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.CustomerSummary;
+import com.example.ecommerce_system.util.KeysetCursor;
 
 import java.sql.Connection;
 import java.util.List;
@@ -11,15 +13,17 @@ import java.util.UUID;
 public interface CustomerDao {
 
     /**
-     * Find all customers based on the pagination specifications
+     * Find a page of customers, newest first, using keyset pagination.
+     * Customers are ordered by signup time descending with the customer id as tie-breaker, so pages stay
+     * stable while customers sign up and deep pages cost the same as the first.
      *
      * @param connection the {@link java.sql.Connection}
+     * @param after position of the last customer of the previous page, or {@code null} for the first page
      * @param limit maximum number of results
-     * @param offset zero-based offset
      * @return list of customers
      * @throws DaoException on Dao errors
      */
-    List<Customer> findAll(Connection connection, int limit, int offset) throws DaoException;
+    List<Customer> findAll(Connection connection, KeysetCursor after, int limit) throws DaoException;
 
     /**
      * Find a customer by id.
@@ -31,6 +35,16 @@ public interface CustomerDao {
      */
     Optional<Customer> findById(Connection connection, UUID customerId) throws DaoException;
 
+    /**
+     * Aggregate a customer's lifetime orders, open cart and reviews in a single statement.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param customerId customer identifier
+     * @return optional summary, empty when the customer does not exist
+     * @throws DaoException on DAO errors
+     */
+    Optional<CustomerSummary> findSummary(Connection connection, UUID customerId) throws DaoException;
+
     /**
      * Find a customer by searching for user id
      * @param connection the {@link java.sql.Connection} to use
@@ -40,16 +54,6 @@ public interface CustomerDao {
      */
     Optional<Customer> findByUserId(Connection connection, UUID userId) throws DaoException;
 
-    /**
-     * Persist a new {@link Customer}.
-     *
-     * @param connection the {@link java.sql.Connection} to use
-     * @param userId user linked to the customer
-     * @param customer customer to save
-     * @throws DaoException on DAO errors
-     */
-    void save(Connection connection, UUID userId, Customer customer) throws DaoException;
-
     /**
      * Update an existing {@link Customer}.
      *
@@ -61,6 +65,7 @@ public interface CustomerDao {
 
     /**
      * Search customers by query string matching first name, last name, or email.
+     * Results are ordered by relevance: how closely the query matches the best of the three fields.
      *
      * @param connection the {@link java.sql.Connection} to use
      * @param query search query string
@@ -70,4 +75,15 @@ public interface CustomerDao {
      * @throws DaoException on DAO errors
      */
     List<Customer> search(Connection connection, String query, int limit, int offset) throws DaoException;
+
+    /**
+     * Find customers whose first name, last name, or email starts with the given prefix, ignoring case.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param prefix prefix typed so far
+     * @param limit maximum number of results
+     * @return matching customers ordered by name
+     * @throws DaoException on DAO errors
+     */
+    List<Customer> autocomplete(Connection connection, String prefix, int limit) throws DaoException;
 }
@@ -6,7 +6,9 @@ import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.model.Product;
 
 import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -64,6 +66,16 @@ public interface ProductDao {
      */
     void save(Connection connection, Product product) throws DaoException;
 
+    /**
+     * Find a product by id and lock its row for the rest of the transaction.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param productId product identifier
+     * @return optional product when found
+     * @throws DaoException on DAO errors
+     */
+    Optional<Product> findByIdForUpdate(Connection connection, UUID productId) throws DaoException;
+
     /**
      * Update an existing {@link Product}.
      *
@@ -91,4 +103,24 @@ public interface ProductDao {
      * @throws DaoException on DAO errors
      */
     void updateStock(Connection connection, UUID productId, int newStock) throws DaoException;
-}
\ No newline at end of file
+
+    /**
+     * Check requested quantities against current stock in a single statement.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param quantities requested quantity per product identifier
+     * @return identifiers of products that are missing or do not have enough stock
+     * @throws DaoException on DAO errors
+     */
+    List<UUID> findInsufficientStock(Connection connection, Map<UUID, Integer> quantities) throws DaoException;
+
+    /**
+     * Find all products whose ids are in the given collection with a single query.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param productIds product identifiers
+     * @return the products found; ids with no matching product are omitted
+     * @throws DaoException on DAO errors
+     */
+    List<Product> findByIds(Connection connection, Collection<UUID> productIds) throws DaoException;
+}
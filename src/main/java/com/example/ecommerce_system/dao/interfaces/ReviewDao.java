@@ -1,10 +1,15 @@
 package com.example.ecommerce_system.dao.interfaces;
 
+import com.example.ecommerce_system.dto.review.ReviewFilter;
 import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.ProductRatingStats;
 import com.example.ecommerce_system.model.Review;
+import com.example.ecommerce_system.util.KeysetCursor;
 
 import java.sql.Connection;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ReviewDao {
@@ -14,7 +19,38 @@ public interface ReviewDao {
     void save(Connection connection, Review review) throws DaoException;
 
     /**
-     * Load a page of {@link Review} for a product.
+     * Load a page of {@link Review} for a product, newest first, using keyset pagination.
+     * Pages follow the {@code (product_id, created_at DESC, review_id)} index; {@code after} is the position of the
+     * last review of the previous page, or {@code null} for the first page.
+     * Each review embeds its author's {@link com.example.ecommerce_system.model.Customer}, joined in the same query.
      */
-    List<Review> findByProduct(Connection connection, UUID productId, int limit, int offset) throws DaoException;
+    List<Review> findByProduct(Connection connection, UUID productId, KeysetCursor after, int limit) throws DaoException;
+
+    /**
+     * Search {@link Review} matching a {@link ReviewFilter}, newest first, using keyset pagination.
+     * Keywords are matched against the text values of the JSONB comment through the full-text GIN index;
+     * rating and creation date bounds are inclusive. {@code after} is the position of the last review of the
+     * previous page, or {@code null} for the first page.
+     */
+    List<Review> search(Connection connection, ReviewFilter filter, KeysetCursor after, int limit) throws DaoException;
+
+    /**
+     * Load the latest {@code perProduct} reviews of every given product in a single query.
+     * Each review embeds its author's {@link com.example.ecommerce_system.model.Customer}.
+     * Products without reviews are absent from the returned map.
+     */
+    Map<UUID, List<Review>> findTopByProducts(Connection connection, Collection<UUID> productIds, int perProduct)
+            throws DaoException;
+
+    /**
+     * Add a rating to the precomputed rating statistics of a product, creating its row when missing.
+     */
+    void incrementRatingStats(Connection connection, UUID productId, int rating) throws DaoException;
+
+    /**
+     * Load the precomputed rating statistics of every given product in a single query.
+     * Products without reviews are absent from the returned map.
+     */
+    Map<UUID, ProductRatingStats> findRatingStats(Connection connection, Collection<UUID> productIds)
+            throws DaoException;
 }
@@ -0,0 +1,72 @@
+package com.example.ecommerce_system.dao.interfaces;
+
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.RefreshToken;
+
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TokenDao {
+
+    /**
+     * Persist a new {@link RefreshToken}.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param token refresh token to save
+     * @throws DaoException on DAO errors
+     */
+    void saveRefreshToken(Connection connection, RefreshToken token) throws DaoException;
+
+    /**
+     * Find a refresh token by the hash of its value and lock the row until the transaction ends.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param tokenHash SHA-256 hash of the token value
+     * @return optional refresh token when found
+     * @throws DaoException on DAO errors
+     */
+    Optional<RefreshToken> findRefreshTokenByHashForUpdate(Connection connection, String tokenHash) throws DaoException;
+
+    /**
+     * Mark a refresh token as revoked.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param tokenId refresh token id
+     * @param revokedAt revocation time
+     * @throws DaoException on DAO errors
+     */
+    void revokeRefreshToken(Connection connection, UUID tokenId, Instant revokedAt) throws DaoException;
+
+    /**
+     * Record a revoked access token until it expires.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param tokenId access token id ({@code jti} claim)
+     * @param expiresAt time after which the access token is rejected anyway
+     * @throws DaoException on DAO errors
+     */
+    void saveRevokedAccessToken(Connection connection, UUID tokenId, Instant expiresAt) throws DaoException;
+
+    /**
+     * Load every revoked access token that has not expired yet.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param now current time
+     * @return expiry of each revoked access token keyed by token id
+     * @throws DaoException on DAO errors
+     */
+    Map<UUID, Instant> findActiveRevokedAccessTokens(Connection connection, Instant now) throws DaoException;
+
+    /**
+     * Delete expired refresh tokens and revoked access tokens.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param now current time
+     * @return number of deleted rows
+     * @throws DaoException on DAO errors
+     */
+    int deleteExpired(Connection connection, Instant now) throws DaoException;
+}
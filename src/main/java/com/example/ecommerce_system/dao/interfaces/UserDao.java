@@ -1,21 +1,46 @@
 package com.example.ecommerce_system.dao.interfaces;
 
 import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.Customer;
 import com.example.ecommerce_system.model.User;
 
 import java.sql.Connection;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserDao {
 
     /**
-     * Persist a new {@link User}.
+     * Persist a new {@link User} together with its {@link Customer} in a single statement.
+     * Nothing is written when the email is already registered.
      *
      * @param connection the {@link java.sql.Connection} to use
      * @param user user to save
+     * @param customer customer profile of the user
+     * @return {@code false} when the email is already taken
      * @throws DaoException on DAO errors
      */
-    void save(Connection connection, User user) throws DaoException;
+    boolean save(Connection connection, User user, Customer customer) throws DaoException;
+
+    /**
+     * Find a user by id.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param userId user id
+     * @return optional user when found
+     * @throws DaoException on DAO errors
+     */
+    Optional<User> findById(Connection connection, UUID userId) throws DaoException;
+
+    /**
+     * Stream every registered email to the given consumer.
+     *
+     * @param connection the {@link java.sql.Connection} to use
+     * @param consumer receives each email
+     * @throws DaoException on DAO errors
+     */
+    void forEachEmail(Connection connection, Consumer<String> consumer) throws DaoException;
 
     /**
      * Find a user by email.
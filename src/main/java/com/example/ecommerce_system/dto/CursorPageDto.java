@@ -0,0 +1,8 @@
+package com.example.ecommerce_system.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} on the last page.
+ */
+public record CursorPageDto<T>(List<T> items, String nextCursor) {}
@@ -21,4 +21,5 @@ public class AuthResponseDto {
     private Role role;
     private Instant createdAt;
     private String token;
+    private String refreshToken;
 }
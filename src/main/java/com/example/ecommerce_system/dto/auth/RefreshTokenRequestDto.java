@@ -0,0 +1,16 @@
+package com.example.ecommerce_system.dto.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RefreshTokenRequestDto {
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+}
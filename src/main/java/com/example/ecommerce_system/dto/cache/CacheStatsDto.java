@@ -0,0 +1,20 @@
+package com.example.ecommerce_system.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@AllArgsConstructor
+@Data
+@Builder
+public class CacheStatsDto {
+    private String name;
+    private long estimatedSize;
+    private long weightedSize;
+    private long maximumWeight;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long evictionWeight;
+}
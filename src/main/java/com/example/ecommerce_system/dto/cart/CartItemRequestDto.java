@@ -11,6 +11,12 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 public class CartItemRequestDto {
+    @NotNull(
+            groups = UpdateCartItems.class,
+            message = "cartItemId is a required field"
+    )
+    private UUID cartItemId;
+
     @NotNull(
             groups = AddCartItem.class,
             message = "productId is a required field"
@@ -18,11 +24,11 @@ public class CartItemRequestDto {
     private UUID productId;
 
     @Positive(
-            groups = {UpdateCartItem.class, AddCartItem.class},
+            groups = {UpdateCartItem.class, UpdateCartItems.class, AddCartItem.class},
             message = "quantity must be positive"
     )
     @NotNull(
-            groups = {UpdateCartItem.class, AddCartItem.class},
+            groups = {UpdateCartItem.class, UpdateCartItems.class, AddCartItem.class},
             message = "quantity is a required field"
     )
     private Integer quantity;
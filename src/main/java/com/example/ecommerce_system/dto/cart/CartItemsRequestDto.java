@@ -0,0 +1,20 @@
+package com.example.ecommerce_system.dto.cart;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartItemsRequestDto {
+    @NotEmpty(
+            groups = {AddCartItem.class, UpdateCartItems.class},
+            message = "items is required"
+    )
+    @Valid
+    private List<CartItemRequestDto> items;
+}
@@ -0,0 +1,3 @@
+package com.example.ecommerce_system.dto.cart;
+
+public interface UpdateCartItems {}
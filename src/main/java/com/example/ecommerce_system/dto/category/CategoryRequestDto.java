@@ -3,8 +3,12 @@ package com.example.ecommerce_system.dto.category;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
 
 @AllArgsConstructor
+@NoArgsConstructor
 @Getter
 public class CategoryRequestDto {
 
@@ -19,4 +23,20 @@ public class CategoryRequestDto {
             message = "description cannot be empty"
     )
     private String description;
+
+    private UUID parentId;
+
+    /**
+     * Detach the category from its parent on update, making it a root category.
+     * A null {@link #parentId} alone keeps the current parent.
+     */
+    private boolean moveToRoot;
+
+    public CategoryRequestDto(String name, String description) {
+        this(name, description, null, false);
+    }
+
+    public CategoryRequestDto(String name, String description, UUID parentId) {
+        this(name, description, parentId, false);
+    }
 }
@@ -16,4 +16,7 @@ public class CategoryResponseDto {
     private final String description;
     private final Instant createdAt;
     private final Instant updatedAt;
+    private final UUID parentId;
+    private final Integer productCount;
+    private final Integer inStockCount;
 }
@@ -0,0 +1,21 @@
+package com.example.ecommerce_system.dto.customer;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Data
+@Builder
+public class CustomerSummaryDto {
+    private UUID customerId;
+    private int orderCount;
+    private double lifetimeSpend;
+    private Instant lastOrderAt;
+    private int cartItemCount;
+    private int cartQuantity;
+    private int reviewCount;
+}
@@ -0,0 +1,3 @@
+package com.example.ecommerce_system.dto.orders;
+
+public interface CheckoutOrderRequest {}
@@ -22,19 +22,19 @@ public class OrderRequestDto {
     private OrderStatus status;
 
     @NotBlank(
-            groups = CreateOrderRequest.class,
+            groups = {CreateOrderRequest.class, CheckoutOrderRequest.class},
             message = "country is required and cannot be empty"
     )
     private String country;
 
     @NotBlank(
-            groups = CreateOrderRequest.class,
+            groups = {CreateOrderRequest.class, CheckoutOrderRequest.class},
             message = "city is required and cannot be empty"
     )
     private String city;
 
     @NotBlank(
-            groups = CreateOrderRequest.class,
+            groups = {CreateOrderRequest.class, CheckoutOrderRequest.class},
             message = "postalCode is required and cannot be empty"
     )
     private String postalCode;
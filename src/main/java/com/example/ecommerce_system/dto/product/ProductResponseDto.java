@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -18,4 +19,7 @@ public class ProductResponseDto {
     private double price;
     private int stock;
     private Instant updatedAt;
+    private int reviewCount;
+    private double averageRating;
+    private List<Integer> ratingHistogram;
 }
@@ -21,5 +21,8 @@ public class ProductWithReviewsDto {
     private Double price;
     private Integer stock;
     private Instant updatedAt;
+    private Integer reviewCount;
+    private Double averageRating;
+    private List<Integer> ratingHistogram;
     private List<ReviewResponseDto> reviews;
 }
@@ -0,0 +1,46 @@
+package com.example.ecommerce_system.dto.review;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ReviewFilter {
+    private UUID productId;
+    private String keywords;
+    private Integer minRating;
+    private Integer maxRating;
+    private Instant createdFrom;
+    private Instant createdTo;
+
+    public boolean hasProductId() {
+        return this.productId != null;
+    }
+
+    public boolean hasKeywords() {
+        return this.keywords != null && !this.keywords.isBlank();
+    }
+
+    public boolean hasMinRating() {
+        return this.minRating != null;
+    }
+
+    public boolean hasMaxRating() {
+        return this.maxRating != null;
+    }
+
+    public boolean hasCreatedFrom() {
+        return this.createdFrom != null;
+    }
+
+    public boolean hasCreatedTo() {
+        return this.createdTo != null;
+    }
+}
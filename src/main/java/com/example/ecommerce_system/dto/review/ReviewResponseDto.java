@@ -1,6 +1,7 @@
 package com.example.ecommerce_system.dto.review;
 
 import com.example.ecommerce_system.dto.customer.CustomerResponseDto;
+import com.example.ecommerce_system.model.RawJson;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,6 @@ public class ReviewResponseDto {
     private UUID productId;
     private CustomerResponseDto customer;
     private Integer rating;
-    private String comment;
+    private RawJson comment;
     private Instant createdAt;
 }
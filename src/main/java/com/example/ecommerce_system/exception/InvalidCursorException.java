@@ -0,0 +1,7 @@
+package com.example.ecommerce_system.exception;
+
+public class InvalidCursorException extends IllegalArgumentException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+}
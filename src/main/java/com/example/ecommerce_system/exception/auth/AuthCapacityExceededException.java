@@ -0,0 +1,13 @@
+package com.example.ecommerce_system.exception.auth;
+
+import lombok.Getter;
+
+@Getter
+public class AuthCapacityExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public AuthCapacityExceededException(long retryAfterSeconds) {
+        super("Too many authentication requests. Please retry shortly.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
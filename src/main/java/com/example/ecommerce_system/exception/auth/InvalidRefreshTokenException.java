@@ -0,0 +1,7 @@
+package com.example.ecommerce_system.exception.auth;
+
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException() {
+        super("Refresh token is invalid, expired or revoked.");
+    }
+}
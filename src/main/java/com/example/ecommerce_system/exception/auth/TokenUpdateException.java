@@ -0,0 +1,7 @@
+package com.example.ecommerce_system.exception.auth;
+
+public class TokenUpdateException extends RuntimeException {
+    public TokenUpdateException(String action) {
+        super("Failed to " + action + ".");
+    }
+}
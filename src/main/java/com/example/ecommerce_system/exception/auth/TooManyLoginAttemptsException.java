@@ -0,0 +1,13 @@
+package com.example.ecommerce_system.exception.auth;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyLoginAttemptsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyLoginAttemptsException(long retryAfterSeconds) {
+        super("Too many login attempts. Please retry later.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.ecommerce_system.exception.cart;
+
+public class CartPurgeException extends RuntimeException {
+    public CartPurgeException(String cutoff) {
+        super("Failed to purge carts idle since: " + cutoff);
+    }
+}
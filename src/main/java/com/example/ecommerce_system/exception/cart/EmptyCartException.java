@@ -0,0 +1,7 @@
+package com.example.ecommerce_system.exception.cart;
+
+public class EmptyCartException extends RuntimeException {
+    public EmptyCartException(String customerId) {
+        super("Cart of customer '" + customerId + "' is empty.");
+    }
+}
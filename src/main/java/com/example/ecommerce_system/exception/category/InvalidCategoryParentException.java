@@ -0,0 +1,10 @@
+package com.example.ecommerce_system.exception.category;
+
+/**
+ * Thrown when a category would become its own ancestor.
+ */
+public class InvalidCategoryParentException extends IllegalArgumentException {
+    public InvalidCategoryParentException(String categoryId, String parentId) {
+        super("Category " + parentId + " cannot be the parent of category " + categoryId + " because it is in its subtree.");
+    }
+}
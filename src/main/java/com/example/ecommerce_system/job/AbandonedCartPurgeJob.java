@@ -0,0 +1,73 @@
+package com.example.ecommerce_system.job;
+
+import com.example.ecommerce_system.model.CartPurgeResult;
+import com.example.ecommerce_system.store.CartStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically deletes carts that have not been updated for {@code cart.purge.max-idle-ms}.
+ * Carts are deleted in small batches, each in its own short transaction, with a pause between batches
+ * so that row locks are held only briefly. A run stops early once {@code cart.purge.max-run-ms} is spent.
+ */
+@Component
+public class AbandonedCartPurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(AbandonedCartPurgeJob.class);
+
+    private final CartStore cartStore;
+    private final boolean enabled;
+    private final long maxIdleMs;
+    private final int batchSize;
+    private final long pauseMs;
+    private final long maxRunMs;
+
+    public AbandonedCartPurgeJob(
+            CartStore cartStore,
+            @Value("${cart.purge.enabled:true}") boolean enabled,
+            @Value("${cart.purge.max-idle-ms:2592000000}") long maxIdleMs,
+            @Value("${cart.purge.batch-size:500}") int batchSize,
+            @Value("${cart.purge.pause-ms:100}") long pauseMs,
+            @Value("${cart.purge.max-run-ms:60000}") long maxRunMs
+    ) {
+        this.cartStore = cartStore;
+        this.enabled = enabled;
+        this.maxIdleMs = maxIdleMs;
+        this.batchSize = batchSize;
+        this.pauseMs = pauseMs;
+        this.maxRunMs = maxRunMs;
+    }
+
+    @Scheduled(cron = "${cart.purge.cron:0 30 3 * * *}")
+    public void purgeAbandonedCarts() {
+        if (!enabled) return;
+
+        Instant started = Instant.now();
+        Instant cutoff = started.minusMillis(maxIdleMs);
+        int carts = 0;
+        int items = 0;
+
+        try {
+            while (Duration.between(started, Instant.now()).toMillis() < maxRunMs) {
+                CartPurgeResult batch = cartStore.purgeIdleCarts(cutoff, batchSize);
+                carts += batch.getDeletedCarts();
+                items += batch.getDeletedItems();
+
+                if (batch.getDeletedCarts() < batchSize) break;
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Abandoned cart purge failed: {}", e.getMessage());
+        }
+
+        logger.info("Purged {} abandoned carts and {} cart items idle since {} in {} ms",
+                carts, items, cutoff, Duration.between(started, Instant.now()).toMillis());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ecommerce_system.job;
+
+import com.example.ecommerce_system.store.CartSessionStore;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically writes stale write-behind cart sessions to the database.
+ * Does nothing unless {@code cart.write-behind.enabled} is set.
+ */
+@Component
+@AllArgsConstructor
+public class CartSessionFlushJob {
+    private static final Logger logger = LoggerFactory.getLogger(CartSessionFlushJob.class);
+
+    private final CartSessionStore cartSessionStore;
+
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval-ms:1000}")
+    public void flushStaleSessions() {
+        if (!cartSessionStore.isEnabled()) return;
+
+        int written = cartSessionStore.flushStale();
+        if (written > 0) logger.debug("Flushed {} cart sessions", written);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ecommerce_system.job;
+
+import com.example.ecommerce_system.config.JwtTokenVerifier;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically logs how often bearer tokens are served from the verified-token cache
+ * and how long the JWT interceptor takes per request.
+ */
+@Component
+@AllArgsConstructor
+public class JwtMetricsLogJob {
+    private static final Logger logger = LoggerFactory.getLogger(JwtMetricsLogJob.class);
+
+    private final JwtTokenVerifier tokenVerifier;
+
+    @Scheduled(fixedDelayString = "${jwt.metrics.log-interval-ms:60000}")
+    public void logMetrics() {
+        JwtTokenVerifier.Metrics metrics = tokenVerifier.metrics();
+        if (metrics.requests() == 0) return;
+
+        logger.info("[JWT] Requests: {}, Cache hits: {}, Cache misses: {}, Hit rate: {}%, Cached tokens: {}, Avg interceptor time: {}ms",
+                metrics.requests(),
+                metrics.cacheHits(),
+                metrics.cacheMisses(),
+                String.format("%.1f", metrics.hitRate() * 100),
+                metrics.cachedTokens(),
+                String.format("%.3f", metrics.avgInterceptorMs()));
+    }
+}
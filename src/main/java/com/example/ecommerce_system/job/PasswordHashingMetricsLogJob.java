@@ -0,0 +1,31 @@
+package com.example.ecommerce_system.job;
+
+import com.example.ecommerce_system.config.BoundedPasswordEncoder;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically logs latency histograms of password hashing and verification, including time spent queued.
+ */
+@Component
+@AllArgsConstructor
+public class PasswordHashingMetricsLogJob {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingMetricsLogJob.class);
+
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    @Scheduled(fixedDelayString = "${auth.hashing.metrics.log-interval-ms:60000}")
+    public void logMetrics() {
+        if (!(passwordEncoder instanceof BoundedPasswordEncoder encoder)) return;
+        if (encoder.getEncodeLatency().count() == 0 && encoder.getMatchesLatency().count() == 0) return;
+
+        logger.info("[AUTH] Queue depth: {}, encode: {}, matches: {}",
+                encoder.getQueueDepth(),
+                encoder.getEncodeLatency(),
+                encoder.getMatchesLatency());
+    }
+}
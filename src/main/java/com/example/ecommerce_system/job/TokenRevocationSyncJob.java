@@ -0,0 +1,31 @@
+package com.example.ecommerce_system.job;
+
+import com.example.ecommerce_system.store.TokenStore;
+import lombok.AllArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads revoked access tokens from the database, so revocations made by other instances
+ * take effect here, and purges expired token rows.
+ */
+@Component
+@AllArgsConstructor
+public class TokenRevocationSyncJob {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationSyncJob.class);
+
+    private final TokenStore tokenStore;
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void syncRevocations() {
+        tokenStore.reloadRevocations();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpiredTokens() {
+        int deleted = tokenStore.purgeExpired();
+        if (deleted > 0) logger.debug("Purged {} expired token rows", deleted);
+    }
+}
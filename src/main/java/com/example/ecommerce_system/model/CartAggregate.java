@@ -0,0 +1,70 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Immutable view of a customer's cart: the cart header, its items (newest first)
+ * and a snapshot of every product referenced by those items.
+ * Mutating methods return a new aggregate so cached instances can be replaced atomically.
+ */
+@AllArgsConstructor
+@Getter
+public class CartAggregate {
+    private final Cart cart;
+    private final List<CartItem> items;
+    private final Map<UUID, Product> products;
+
+    public static CartAggregate empty(Cart cart) {
+        return new CartAggregate(cart, List.of(), Map.of());
+    }
+
+    public Optional<CartItem> findItem(UUID cartItemId) {
+        return items.stream()
+                .filter(item -> item.getCartItemId().equals(cartItemId))
+                .findFirst();
+    }
+
+    public Product getProduct(UUID productId) {
+        return products.get(productId);
+    }
+
+    public CartAggregate withItem(CartItem item, Product product) {
+        List<CartItem> newItems = new ArrayList<>(items.size() + 1);
+        newItems.add(item);
+        items.stream()
+                .filter(existing -> !existing.getCartItemId().equals(item.getCartItemId()))
+                .forEach(newItems::add);
+
+        Map<UUID, Product> newProducts = new HashMap<>(products);
+        newProducts.put(product.getProductId(), product);
+        return new CartAggregate(cart, List.copyOf(newItems), Map.copyOf(newProducts));
+    }
+
+    public CartAggregate withQuantity(UUID cartItemId, int quantity) {
+        List<CartItem> newItems = items.stream()
+                .map(item -> !item.getCartItemId().equals(cartItemId) ? item : CartItem.builder()
+                        .cartItemId(item.getCartItemId())
+                        .cartId(item.getCartId())
+                        .productId(item.getProductId())
+                        .quantity(quantity)
+                        .addedAt(item.getAddedAt())
+                        .build())
+                .toList();
+        return new CartAggregate(cart, newItems, products);
+    }
+
+    public CartAggregate withoutItem(UUID cartItemId) {
+        List<CartItem> newItems = items.stream()
+                .filter(item -> !item.getCartItemId().equals(cartItemId))
+                .toList();
+
+        Set<UUID> referenced = new HashSet<>();
+        newItems.forEach(item -> referenced.add(item.getProductId()));
+        Map<UUID, Product> newProducts = new HashMap<>(products);
+        newProducts.keySet().retainAll(referenced);
+        return new CartAggregate(cart, newItems, Map.copyOf(newProducts));
+    }
+}
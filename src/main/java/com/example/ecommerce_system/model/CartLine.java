@@ -0,0 +1,21 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A cart item joined with the current price of its product.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class CartLine {
+    private final UUID cartItemId;
+    private final UUID cartId;
+    private final UUID productId;
+    private final int quantity;
+    private final double price;
+}
@@ -0,0 +1,18 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+public class CartPurgeResult {
+    private final List<UUID> customerIds;
+    private final int deletedItems;
+
+    public int getDeletedCarts() {
+        return customerIds.size();
+    }
+}
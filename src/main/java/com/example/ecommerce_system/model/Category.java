@@ -20,4 +20,13 @@ public class Category {
     private String description;
     private Instant createdAt;
     private Instant updatedAt;
+    private UUID parentId;
+
+    public Category(UUID categoryId, String name, String description, Instant createdAt, Instant updatedAt) {
+        this(categoryId, name, description, createdAt, updatedAt, null);
+    }
+
+    public boolean isRoot() {
+        return this.parentId == null;
+    }
 }
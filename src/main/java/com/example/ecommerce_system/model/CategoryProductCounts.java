@@ -0,0 +1,17 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Precomputed number of products, and of products with stock left, in a category and all its descendants.
+ * Maintained by product writes and stock changes.
+ */
+@AllArgsConstructor
+@Getter
+public class CategoryProductCounts {
+    public static final CategoryProductCounts EMPTY = new CategoryProductCounts(0, 0);
+
+    private final int productCount;
+    private final int inStockCount;
+}
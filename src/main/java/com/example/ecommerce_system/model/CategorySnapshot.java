@@ -0,0 +1,93 @@
+package com.example.ecommerce_system.model;
+
+import java.util.*;
+
+/**
+ * Immutable copy of the whole category table, indexed by id and by lowercased name.
+ * Writes produce a new snapshot so readers never observe a partially applied change.
+ * Pages are ordered by name ignoring case, with the id as tie-breaker, so the order is stable between snapshots.
+ */
+public final class CategorySnapshot {
+    private static final Comparator<Category> BY_NAME = Comparator
+            .comparing(Category::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Category::getCategoryId);
+
+    public static final CategorySnapshot EMPTY = new CategorySnapshot(List.of());
+
+    private final Map<UUID, Category> byId;
+    private final Map<String, Category> byName;
+    private final List<Category> sortedByName;
+
+    private CategorySnapshot(Collection<Category> categories) {
+        Map<UUID, Category> ids = new HashMap<>();
+        Map<String, Category> names = new HashMap<>();
+        for (Category category : categories) {
+            ids.put(category.getCategoryId(), category);
+            names.put(normalize(category.getName()), category);
+        }
+        this.byId = Map.copyOf(ids);
+        this.byName = Map.copyOf(names);
+        this.sortedByName = categories.stream()
+                .sorted(BY_NAME)
+                .toList();
+    }
+
+    public static CategorySnapshot of(Collection<Category> categories) {
+        return new CategorySnapshot(categories);
+    }
+
+    public Optional<Category> findById(UUID categoryId) {
+        return Optional.ofNullable(byId.get(categoryId));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(byName.get(normalize(name)));
+    }
+
+    /**
+     * A page of categories ordered by name.
+     */
+    public List<Category> findAll(int limit, int offset) {
+        return sortedByName.stream().skip(offset).limit(limit).toList();
+    }
+
+    /**
+     * A page of categories whose name contains {@code query}, ignoring case, ordered by name.
+     */
+    public List<Category> searchByName(String query, int limit, int offset) {
+        String needle = normalize(query == null ? "" : query);
+        return sortedByName.stream()
+                .filter(category -> normalize(category.getName()).contains(needle))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Whether {@code categoryId} is {@code rootId} itself or one of its descendants.
+     */
+    public boolean isInSubtree(UUID rootId, UUID categoryId) {
+        Category current = byId.get(categoryId);
+        while (current != null) {
+            if (current.getCategoryId().equals(rootId)) return true;
+            current = current.isRoot() ? null : byId.get(current.getParentId());
+        }
+        return false;
+    }
+
+    public CategorySnapshot with(Category category) {
+        Map<UUID, Category> categories = new HashMap<>(byId);
+        categories.put(category.getCategoryId(), category);
+        return new CategorySnapshot(categories.values());
+    }
+
+    public CategorySnapshot without(UUID categoryId) {
+        Map<UUID, Category> categories = new HashMap<>(byId);
+        categories.remove(categoryId);
+        return new CategorySnapshot(categories.values());
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class CheckoutResult {
+    private final Orders order;
+    private final List<OrderItem> items;
+}
@@ -0,0 +1,25 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lifetime activity of a customer, aggregated from orders, the open cart and reviews.
+ * Lifetime spend excludes cancelled orders; {@code lastOrderAt} is {@code null} when the customer never ordered.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class CustomerSummary {
+    private final UUID customerId;
+    private final int orderCount;
+    private final double lifetimeSpend;
+    private final Instant lastOrderAt;
+    private final int cartItemCount;
+    private final int cartQuantity;
+    private final int reviewCount;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.List;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -15,4 +16,13 @@ public class OrderItem {
     private UUID productId;
     private int quantity;
     private double priceAtPurchase;
+
+    /**
+     * Total amount of an order made of the given items.
+     */
+    public static double totalOf(List<OrderItem> items) {
+        return items.stream()
+                .mapToDouble(item -> item.getPriceAtPurchase() * item.getQuantity())
+                .sum();
+    }
 }
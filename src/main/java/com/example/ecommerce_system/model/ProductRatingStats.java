@@ -0,0 +1,26 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Precomputed rating aggregates of a product, maintained together with its reviews.
+ * The histogram holds the number of 1 to 5 star ratings, in that order.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class ProductRatingStats {
+    public static final ProductRatingStats EMPTY = new ProductRatingStats(0, 0, List.of(0, 0, 0, 0, 0));
+
+    private final int reviewCount;
+    private final long ratingSum;
+    private final List<Integer> histogram;
+
+    public double getAverageRating() {
+        return reviewCount == 0 ? 0 : (double) ratingSum / reviewCount;
+    }
+}
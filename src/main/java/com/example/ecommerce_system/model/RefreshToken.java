@@ -0,0 +1,29 @@
+package com.example.ecommerce_system.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Stored refresh token. Only the SHA-256 hash of the token value is persisted, together with the id of the
+ * access token issued alongside it so that revoking the refresh token can revoke that access token too.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class RefreshToken {
+    private UUID tokenId;
+    private UUID userId;
+    private String tokenHash;
+    private UUID accessTokenId;
+    private Instant expiresAt;
+    private Instant createdAt;
+    private Instant revokedAt;
+
+    public boolean isActive(Instant now) {
+        return revokedAt == null && expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ecommerce_system.model;
+
+import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Authenticated caller of a request, built once from the verified access token by the JWT interceptor.
+ * REST handlers receive it as a method argument, GraphQL resolvers through the GraphQL context
+ * under {@link #ATTRIBUTE}.
+ */
+public record RequestPrincipal(UUID userId, Role role, UUID customerId) implements Serializable {
+    public static final String ATTRIBUTE = "requestPrincipal";
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+
+    /**
+     * Customer id of the caller.
+     *
+     * @throws CustomerNotFoundException when the caller has no customer profile
+     */
+    public UUID requireCustomerId() {
+        if (customerId == null) throw new CustomerNotFoundException(userId.toString());
+        return customerId;
+    }
+}
@@ -15,6 +15,7 @@ public class Review {
     private UUID productId;
     private UUID customerId;
     private Integer rating;
-    private String comment;
+    private RawJson comment;
     private Instant createdAt;
+    private Customer customer;
 }
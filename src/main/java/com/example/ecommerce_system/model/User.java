@@ -16,4 +16,5 @@ public class User {
     private String passwordHash;
     private Role role;
     private Instant createdAt;
+    private UUID customerId;
 }
@@ -4,23 +4,33 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.example.ecommerce_system.dto.auth.AuthResponseDto;
 import com.example.ecommerce_system.dto.auth.LoginRequestDto;
+import com.example.ecommerce_system.dto.auth.RefreshTokenRequestDto;
 import com.example.ecommerce_system.dto.auth.SignupRequestDto;
 import com.example.ecommerce_system.exception.auth.DuplicateEmailException;
 import com.example.ecommerce_system.exception.auth.InvalidCredentialsException;
+import com.example.ecommerce_system.exception.auth.InvalidRefreshTokenException;
 import com.example.ecommerce_system.exception.auth.UserNotFoundException;
 import com.example.ecommerce_system.exception.auth.WeakPasswordException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.RefreshToken;
 import com.example.ecommerce_system.model.Role;
 import com.example.ecommerce_system.model.User;
+import com.example.ecommerce_system.store.TokenStore;
 import com.example.ecommerce_system.store.UserStore;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.Optional;
+import java.util.HexFormat;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -29,41 +39,83 @@ public class AuthService {
 
     private final UserStore userStore;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final TokenStore tokenStore;
+    private final SecureRandom secureRandom = new SecureRandom();
 
     @Value("${jwt.token.secret-key}")
     private String secretKey;
 
+    @Value("${jwt.access-token.ttl-ms:900000}")
+    private long accessTokenTtlMs;
+
+    @Value("${jwt.refresh-token.ttl-ms:1209600000}")
+    private long refreshTokenTtlMs;
+
     /**
      * Register a new user with the provided credentials.
-     * Validates password strength, checks for duplicate email, hashes the password, and persists the user.
-     * Also creates a customer record for the new user.
+     * Validates password strength, hashes the password, and persists the user together with its customer record.
+     * Duplicate emails are detected by the insert itself; the email filter only short-circuits known duplicates
+     * before the password is hashed.
      */
     public AuthResponseDto signup(SignupRequestDto request) {
         validatePassword(request.getPassword());
 
-        Optional<User> existingUser = userStore.getUserByEmail(request.getEmail());
-        if (existingUser.isPresent())
+        if (userStore.isEmailRegistered(request.getEmail()))
             throw new DuplicateEmailException(request.getEmail());
 
-        var newUser = createUser(request);
         var newCustomer = createCustomer(request);
+        var newUser = createUser(request, newCustomer);
 
         var createdUser = userStore.createUser(newUser, newCustomer);
 
-        return mapToAuthResponse(createdUser, null);
+        return mapToAuthResponse(createdUser, null, null);
     }
 
-    private String generateJwtToken(User user) {
+    private String generateJwtToken(User user, UUID tokenId) {
         Algorithm algorithm = Algorithm.HMAC256(secretKey);
         return JWT.create()
+                .withJWTId(tokenId.toString())
                 .withSubject(user.getUserId().toString())
                 .withClaim("role", user.getRole().name())
+                .withClaim("customerId", user.getCustomerId() != null ? user.getCustomerId().toString() : null)
                 .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + 86400000))
+                .withExpiresAt(new Date(System.currentTimeMillis() + accessTokenTtlMs))
                 .sign(algorithm);
     }
 
-    private User createUser(SignupRequestDto request) {
+    private AuthResponseDto issueTokens(User user) {
+        UUID accessTokenId = UUID.randomUUID();
+        String refreshToken = generateRefreshTokenValue();
+        tokenStore.saveRefreshToken(buildRefreshToken(refreshToken, accessTokenId).userId(user.getUserId()).build());
+        return mapToAuthResponse(user, generateJwtToken(user, accessTokenId), refreshToken);
+    }
+
+    private RefreshToken.RefreshTokenBuilder buildRefreshToken(String value, UUID accessTokenId) {
+        Instant now = Instant.now();
+        return RefreshToken.builder()
+                .tokenId(UUID.randomUUID())
+                .tokenHash(hashRefreshToken(value))
+                .accessTokenId(accessTokenId)
+                .createdAt(now)
+                .expiresAt(now.plusMillis(refreshTokenTtlMs));
+    }
+
+    private String generateRefreshTokenValue() {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hashRefreshToken(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private User createUser(SignupRequestDto request, Customer customer) {
         String hashedPassword = passwordEncoder.encode(request.getPassword());
         return User.builder()
                 .userId(UUID.randomUUID())
@@ -71,6 +123,7 @@ public class AuthService {
                 .passwordHash(hashedPassword)
                 .role(Role.CUSTOMER)
                 .createdAt(Instant.now())
+                .customerId(customer.getCustomerId())
                 .build();
     }
 
@@ -97,8 +150,34 @@ public class AuthService {
             throw new InvalidCredentialsException();
         }
 
-        String token = generateJwtToken(user);
-        return mapToAuthResponse(user, token);
+        return issueTokens(user);
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a new refresh token.
+     * The presented refresh token is revoked, so each one can be used only once. No password hashing is involved.
+     */
+    public AuthResponseDto refresh(RefreshTokenRequestDto request) {
+        UUID accessTokenId = UUID.randomUUID();
+        String refreshToken = generateRefreshTokenValue();
+        RefreshToken rotated = tokenStore.rotateRefreshToken(
+                hashRefreshToken(request.getRefreshToken()),
+                buildRefreshToken(refreshToken, accessTokenId)
+        );
+
+        User user = userStore.getUserById(rotated.getUserId())
+                .orElseThrow(InvalidRefreshTokenException::new);
+        return mapToAuthResponse(user, generateJwtToken(user, accessTokenId), refreshToken);
+    }
+
+    /**
+     * Revoke a refresh token and the access token issued with it.
+     */
+    public void logout(RefreshTokenRequestDto request) {
+        tokenStore.revokeRefreshToken(
+                hashRefreshToken(request.getRefreshToken()),
+                Instant.now().plus(Duration.ofMillis(accessTokenTtlMs))
+        );
     }
 
     private void validatePassword(String password) {
@@ -123,13 +202,14 @@ public class AuthService {
         }
     }
 
-    private AuthResponseDto mapToAuthResponse(User user, String token) {
+    private AuthResponseDto mapToAuthResponse(User user, String token, String refreshToken) {
         return AuthResponseDto.builder()
                 .userId(user.getUserId())
                 .email(user.getEmail())
                 .role(user.getRole())
                 .createdAt(user.getCreatedAt())
                 .token(token)
+                .refreshToken(refreshToken)
                 .build();
     }
 }
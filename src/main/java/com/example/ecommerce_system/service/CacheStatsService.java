@@ -0,0 +1,48 @@
+package com.example.ecommerce_system.service;
+
+import com.example.ecommerce_system.dto.cache.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Report size, weight and hit/miss/eviction counts for every Caffeine cache, sorted by name.
+     * Counts are cumulative since startup and stay at 0 for caches configured without {@code record-stats}.
+     */
+    public List<CacheStatsDto> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> toDto(cache.getName(), ((CaffeineCache) cache).getNativeCache()))
+                .toList();
+    }
+
+    private CacheStatsDto toDto(String name, Cache<Object, Object> cache) {
+        CacheStats stats = cache.stats();
+        var eviction = cache.policy().eviction();
+        return CacheStatsDto.builder()
+                .name(name)
+                .estimatedSize(cache.estimatedSize())
+                .weightedSize(eviction.map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .maximumWeight(eviction.map(Policy.Eviction::getMaximum).orElse(0L))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .build();
+    }
+}
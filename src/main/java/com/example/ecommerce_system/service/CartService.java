@@ -4,62 +4,57 @@ import com.example.ecommerce_system.dto.cart.CartItemRequestDto;
 import com.example.ecommerce_system.dto.cart.CartItemResponseDto;
 import com.example.ecommerce_system.exception.cart.CartItemNotFoundException;
 import com.example.ecommerce_system.exception.cart.CartItemAuthorizationException;
-import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartAggregate;
 import com.example.ecommerce_system.model.CartItem;
-import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.Product;
+import com.example.ecommerce_system.store.CartSessionStore;
 import com.example.ecommerce_system.store.CartStore;
-import com.example.ecommerce_system.store.CustomerStore;
 import com.example.ecommerce_system.store.ProductStore;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @AllArgsConstructor
 public class CartService {
 
     private final CartStore cartStore;
-    private final CustomerStore customerStore;
+    private final CartSessionStore cartSessionStore;
     private final ProductStore productStore;
     private final ProductService productService;
 
     /**
      * Add a product to a customer's cart.
-     * Creates a cart if the customer doesn't have one yet. Validates customer and product existence.
+     * Creates a cart if the customer doesn't have one yet. Validates product existence.
      */
-    public CartItemResponseDto addToCart(UUID userId, CartItemRequestDto request) {
-        var customer = checkThatCustomerExists(userId);
+    public CartItemResponseDto addToCart(UUID customerId, CartItemRequestDto request) {
+        Product product = checkThatProductExists(request.getProductId());
 
-        checkThatProductExists(request.getProductId());
-
-        Cart cart = getOrCreateCartForCustomer(customer.getCustomerId());
-
-        CartItem cartItem = CartItem.builder()
-                .cartItemId(UUID.randomUUID())
-                .cartId(cart.getCartId())
-                .productId(request.getProductId())
-                .quantity(request.getQuantity())
-                .addedAt(Instant.now())
-                .build();
+        if (cartSessionStore.isEnabled()) {
+            CartItem cartItem = buildCartItem(cartSessionStore.getOrCreateCart(customerId), request);
+            cartSessionStore.addCartItem(customerId, cartItem);
+            return mapToDto(cartItem, product);
+        }
 
-        this.cartStore.addCartItem(cartItem);
-        return mapToDto(cartItem);
+        CartItem cartItem = buildCartItem(getOrCreateCartForCustomer(customerId).getCart(), request);
+        this.cartStore.addCartItem(customerId, cartItem, product);
+        return mapToDto(cartItem, product);
     }
 
-    private void checkThatProductExists(UUID productId) {
-        productStore.getProduct(productId).orElseThrow(
+    private Product checkThatProductExists(UUID productId) {
+        return productStore.getProduct(productId).orElseThrow(
                 () -> new ProductNotFoundException(productId.toString())
         );
     }
 
-    private Cart getOrCreateCartForCustomer(UUID customerId) {
-        Optional<Cart> existingCart = this.cartStore.getCartByCustomerId(customerId);
+    private CartAggregate getOrCreateCartForCustomer(UUID customerId) {
+        Optional<CartAggregate> existingCart = this.cartStore.getCart(customerId);
 
         if (existingCart.isPresent()) return existingCart.get();
 
@@ -73,13 +68,26 @@ public class CartService {
         return this.cartStore.createCart(newCart);
     }
 
+    private CartItem buildCartItem(Cart cart, CartItemRequestDto request) {
+        return CartItem.builder()
+                .cartItemId(UUID.randomUUID())
+                .cartId(cart.getCartId())
+                .productId(request.getProductId())
+                .quantity(request.getQuantity())
+                .addedAt(Instant.now())
+                .build();
+    }
+
     private CartItemResponseDto mapToDto(CartItem cartItem) {
-        var product = this.productService.getProduct(cartItem.getProductId());
+        return mapToDto(cartItem, productStore.getProduct(cartItem.getProductId()).orElseThrow(
+                () -> new ProductNotFoundException(cartItem.getProductId().toString())));
+    }
 
+    private CartItemResponseDto mapToDto(CartItem cartItem, Product product) {
         return CartItemResponseDto.builder()
                 .cartItemId(cartItem.getCartItemId())
                 .cartId(cartItem.getCartId())
-                .product(product)
+                .product(productService.map(product))
                 .quantity(cartItem.getQuantity())
                 .addedAt(cartItem.getAddedAt())
                 .build();
@@ -89,69 +97,151 @@ public class CartService {
      * Remove a cart item from the customer's cart.
      * Validates that the cart item exists and belongs to the customer before removal.
      */
-    public void removeFromCart(UUID userId, UUID cartItemId) {
-        var customer = checkThatCustomerExists(userId);
-        var customerId = customer.getCustomerId();
+    public void removeFromCart(UUID customerId, UUID cartItemId) {
+        if (cartSessionStore.isEnabled()) {
+            cartSessionStore.getCartItem(customerId, cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString()));
+            cartSessionStore.removeCartItem(customerId, cartItemId);
+            return;
+        }
 
-        CartItem cartItem = cartStore.getCartItem(cartItemId)
-                .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString()));
+        getCartContaining(customerId, List.of(cartItemId));
+        cartStore.removeCartItem(customerId, cartItemId);
+    }
+
+    /**
+     * Update the quantity of a cart item in the customer's cart.
+     * Validates that the cart item exists and belongs to the customer. Returns the updated cart item with full product details.
+     */
+    public CartItemResponseDto updateCartItem(UUID customerId, UUID cartItemId, CartItemRequestDto request) {
+        if (cartSessionStore.isEnabled()) {
+            CartItem updated = cartSessionStore
+                    .updateCartItem(customerId, cartItemId, request.getQuantity())
+                    .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString()));
+            return mapToDto(updated);
+        }
 
-        checkCartItemAuthorization(customerId, cartItem);
+        CartAggregate cart = getCartContaining(customerId, List.of(cartItemId));
+        cartStore.updateCartItem(customerId, cartItemId, request.getQuantity());
 
-        cartStore.removeCartItem(cartItemId);
+        CartAggregate updated = cart.withQuantity(cartItemId, request.getQuantity());
+        CartItem cartItem = updated.findItem(cartItemId).orElseThrow();
+        return mapToDto(cartItem, updated.getProduct(cartItem.getProductId()));
     }
 
-    private Customer checkThatCustomerExists(UUID userId) {
-        return customerStore.getCustomerByUserId(userId).orElseThrow(
-                () -> new CustomerNotFoundException(userId.toString())
-        );
+    /**
+     * Resolve the customer's cart and make sure it contains all the given items.
+     * Falls back to a direct item lookup only to tell a missing item apart from another customer's item.
+     */
+    private CartAggregate getCartContaining(UUID customerId, Collection<UUID> cartItemIds) {
+        Optional<CartAggregate> cartOpt = cartStore.getCart(customerId);
+        for (UUID cartItemId : cartItemIds) {
+            if (cartOpt.isPresent() && cartOpt.get().findItem(cartItemId).isPresent()) continue;
+
+            cartStore.getCartItem(cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString()));
+            throw new CartItemAuthorizationException(cartItemId.toString());
+        }
+        return cartOpt.orElseThrow();
     }
 
     /**
-     * Update the quantity of a cart item in the customer's cart.
-     * Validates that the cart item exists and belongs to the customer. Returns the updated cart item with full product details.
+     * Add several products to a customer's cart at once.
+     * All products are validated with a single query and the items are written in one batch.
      */
-    public CartItemResponseDto updateCartItem(UUID userId, UUID cartItemId, CartItemRequestDto request) {
-        var customer = checkThatCustomerExists(userId);
+    public List<CartItemResponseDto> addItemsToCart(UUID customerId, List<CartItemRequestDto> requests) {
+        Map<UUID, Product> products = checkThatProductsExist(
+                requests.stream().map(CartItemRequestDto::getProductId).toList());
+
+        if (cartSessionStore.isEnabled()) {
+            Cart cart = cartSessionStore.getOrCreateCart(customerId);
+            List<CartItem> items = requests.stream().map(request -> buildCartItem(cart, request)).toList();
+            items.forEach(item -> cartSessionStore.addCartItem(customerId, item));
+            return items.stream().map(item -> mapToDto(item, products.get(item.getProductId()))).toList();
+        }
 
-        CartItem cartItem = cartStore.getCartItem(cartItemId)
-                .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString()));
+        Cart cart = getOrCreateCartForCustomer(customerId).getCart();
+        List<CartItem> items = requests.stream().map(request -> buildCartItem(cart, request)).toList();
+        cartStore.addCartItems(customerId, items, products);
+        return items.stream().map(item -> mapToDto(item, products.get(item.getProductId()))).toList();
+    }
 
-        checkCartItemAuthorization(customer.getCustomerId(), cartItem);
+    private Map<UUID, Product> checkThatProductsExist(List<UUID> productIds) {
+        Map<UUID, Product> products = productStore.getProductsByIds(new HashSet<>(productIds)).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
 
-        cartStore.updateCartItem(cartItemId, request.getQuantity());
-        return getUpdatedCartItem(cartItemId);
+        productIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> { throw new ProductNotFoundException(productId.toString()); });
+        return products;
     }
 
-    private void checkCartItemAuthorization(UUID customerId, CartItem cartItem) {
-        Optional<Cart> cartOpt = cartStore.getCartByCustomerId(customerId);
-        if (cartOpt.isEmpty() || !cartItem.getCartId().equals(cartOpt.get().getCartId())) {
-            throw new CartItemAuthorizationException(cartItem.getCartItemId().toString());
+    /**
+     * Update the quantity of several items in the customer's cart at once.
+     * All items must belong to the customer's cart; the quantities are written in one batch.
+     */
+    public List<CartItemResponseDto> updateCartItems(UUID customerId, List<CartItemRequestDto> requests) {
+        if (cartSessionStore.isEnabled()) {
+            requests.forEach(request -> cartSessionStore.getCartItem(customerId, request.getCartItemId())
+                    .orElseThrow(() -> new CartItemNotFoundException(request.getCartItemId().toString())));
+            return requests.stream()
+                    .map(request -> cartSessionStore
+                            .updateCartItem(customerId, request.getCartItemId(), request.getQuantity())
+                            .orElseThrow(() -> new CartItemNotFoundException(request.getCartItemId().toString())))
+                    .map(this::mapToDto)
+                    .toList();
         }
+
+        CartAggregate updated = getCartContaining(customerId,
+                requests.stream().map(CartItemRequestDto::getCartItemId).toList());
+        for (CartItemRequestDto request : requests)
+            updated = updated.withQuantity(request.getCartItemId(), request.getQuantity());
+
+        CartAggregate cart = updated;
+        List<CartItem> items = requests.stream()
+                .map(request -> cart.findItem(request.getCartItemId()).orElseThrow())
+                .toList();
+        cartStore.updateCartItems(customerId, items);
+        return items.stream().map(item -> mapToDto(item, cart.getProduct(item.getProductId()))).toList();
     }
 
-    private CartItemResponseDto getUpdatedCartItem(UUID cartItemId) {
-        CartItem cartItem = this.cartStore.getCartItem(cartItemId)
-                .orElseThrow(() -> new RuntimeException("Cart item not found after update: " + cartItemId));
+    /**
+     * Remove several items from the customer's cart at once.
+     * All items must belong to the customer's cart; they are deleted in one batch.
+     */
+    public void removeItemsFromCart(UUID customerId, List<UUID> cartItemIds) {
+        if (cartItemIds.isEmpty()) return;
+
+        if (cartSessionStore.isEnabled()) {
+            cartItemIds.forEach(cartItemId -> cartSessionStore.getCartItem(customerId, cartItemId)
+                    .orElseThrow(() -> new CartItemNotFoundException(cartItemId.toString())));
+            cartItemIds.forEach(cartItemId -> cartSessionStore.removeCartItem(customerId, cartItemId));
+            return;
+        }
 
-        return mapToDto(cartItem);
+        getCartContaining(customerId, cartItemIds);
+        cartStore.removeCartItems(customerId, cartItemIds);
     }
 
     /**
      * Get all cart items for a customer.
      * Returns an empty list if the customer has no cart. Each cart item includes full product details.
      */
-    public List<CartItemResponseDto> getCartItemsByCustomer(UUID userId) {
-        var customer = checkThatCustomerExists(userId);
+    public List<CartItemResponseDto> getCartItemsByCustomer(UUID customerId) {
+        if (cartSessionStore.isEnabled()) {
+            return cartSessionStore.getCartItems(customerId).stream()
+                    .map(this::mapToDto)
+                    .toList();
+        }
 
-        Optional<Cart> cartOpt = this.cartStore.getCartByCustomerId(customer.getCustomerId());
+        Optional<CartAggregate> cartOpt = this.cartStore.getCart(customerId);
 
         if (cartOpt.isEmpty()) return List.of();
 
-        List<CartItem> cartItems = this.cartStore.getCartItems(cartOpt.get().getCartId());
-
-        return cartItems.stream()
-                .map(this::mapToDto)
+        CartAggregate cart = cartOpt.get();
+        return cart.getItems().stream()
+                .map(item -> mapToDto(item, cart.getProduct(item.getProductId())))
                 .toList();
     }
 }
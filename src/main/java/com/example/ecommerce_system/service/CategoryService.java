@@ -4,13 +4,16 @@ import com.example.ecommerce_system.dto.category.CategoryRequestDto;
 import com.example.ecommerce_system.dto.category.CategoryResponseDto;
 import com.example.ecommerce_system.exception.category.CategoryNotFoundException;
 import com.example.ecommerce_system.exception.category.DuplicateCategoryException;
+import com.example.ecommerce_system.exception.category.InvalidCategoryParentException;
 import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
 import com.example.ecommerce_system.store.CategoryStore;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,18 +24,20 @@ public class CategoryService {
     private final CategoryStore categoryStore;
 
     /**
-     * Create a new category with the provided name and description.
-     * Validates that no category with the same name already exists before creation.
+     * Create a new category with the provided name and description, optionally under a parent category.
+     * Validates that no category with the same name already exists and that the parent exists before creation.
      */
     public CategoryResponseDto createCategory(CategoryRequestDto request) {
         Optional<Category> existing = categoryStore.getCategoryByName(request.getName());
         if (existing.isPresent()) throw new DuplicateCategoryException(request.getName());
+        if (request.getParentId() != null) requireCategory(request.getParentId());
         Category category = new Category(
                 UUID.randomUUID(),
                 request.getName(),
                 request.getDescription(),
                 Instant.now(),
-                Instant.now()
+                Instant.now(),
+                request.getParentId()
         );
         Category saved = categoryStore.createCategory(category);
         return map(saved);
@@ -45,26 +50,47 @@ public class CategoryService {
                 .description(category.getDescription())
                 .createdAt(category.getCreatedAt())
                 .updatedAt(category.getUpdatedAt())
+                .parentId(category.getParentId())
                 .build();
     }
 
+    private void requireCategory(UUID id) {
+        categoryStore.getCategory(id).orElseThrow(() -> new CategoryNotFoundException(id.toString()));
+    }
+
     /**
      * Update the category identified by the given ID with new values.
-     * Validates that the category exists and the new name doesn't conflict with existing categories.
+     * Validates that the category exists and the new name doesn't conflict with other categories.
+     * A new parent must exist and must not lie in the category's own subtree. A null parent keeps the current one;
+     * {@code moveToRoot} detaches the category, and its subtree, from its parent.
      */
     public CategoryResponseDto updateCategory(UUID id, CategoryRequestDto request) {
+        if (request.isMoveToRoot() && request.getParentId() != null)
+            throw new IllegalArgumentException("parentId must not be set together with moveToRoot");
+
         Category existingOption = categoryStore.getCategory(id).orElseThrow(
                 () -> new CategoryNotFoundException(id.toString()));
 
-        boolean isDuplicate = categoryStore.getCategoryByName(request.getName()).isPresent();
+        boolean isDuplicate = categoryStore.getCategoryByName(request.getName())
+                .filter(category -> !category.getCategoryId().equals(id))
+                .isPresent();
         if (isDuplicate) throw new DuplicateCategoryException(request.getName());
 
+        UUID parentId = request.isMoveToRoot() ? null
+                : request.getParentId() == null ? existingOption.getParentId() : request.getParentId();
+        if (request.getParentId() != null) {
+            requireCategory(parentId);
+            if (categoryStore.isInSubtree(id, parentId))
+                throw new InvalidCategoryParentException(id.toString(), parentId.toString());
+        }
+
         Category updated = new Category(
                 existingOption.getCategoryId(),
                 request.getName() == null ? existingOption.getName() : request.getName(),
                 request.getDescription() == null ? existingOption.getDescription() : request.getDescription(),
                 existingOption.getCreatedAt(),
-                Instant.now()
+                Instant.now(),
+                parentId
         );
         Category saved = categoryStore.updateCategory(updated);
         return map(saved);
@@ -83,13 +109,41 @@ public class CategoryService {
     }
 
     public List<CategoryResponseDto> getCategories(String query, int limit, int offset) {
+        validatePage(limit, offset);
         List<Category> categories = categoryStore.searchByName(query, limit, offset);
         return categories.stream().map(this::map).toList();
     }
 
+    /**
+     * Retrieve a page of categories ordered by name, each with the precomputed number of products
+     * (and of products in stock) in its subtree. Categories come from the in-memory snapshot and the
+     * counts from a single cached query.
+     */
     public List<CategoryResponseDto> getAllCategories(int limit, int offset) {
+        validatePage(limit, offset);
         List<Category> categories = categoryStore.findAll(limit, offset);
-        return categories.stream().map(this::map).toList();
+        Map<UUID, CategoryProductCounts> counts = categoryStore.getProductCounts();
+        return categories.stream()
+                .map(category -> mapWithCounts(category, counts.getOrDefault(category.getCategoryId(), CategoryProductCounts.EMPTY)))
+                .toList();
+    }
+
+    private void validatePage(int limit, int offset) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+        if (offset < 0) throw new IllegalArgumentException("offset must not be negative");
+    }
+
+    private CategoryResponseDto mapWithCounts(Category category, CategoryProductCounts counts) {
+        return CategoryResponseDto.builder()
+                .categoryId(category.getCategoryId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .createdAt(category.getCreatedAt())
+                .updatedAt(category.getUpdatedAt())
+                .parentId(category.getParentId())
+                .productCount(counts.getProductCount())
+                .inStockCount(counts.getInStockCount())
+                .build();
     }
 
     /**
@@ -1,10 +1,14 @@
 package com.example.ecommerce_system.service;
 
+import com.example.ecommerce_system.dto.CursorPageDto;
 import com.example.ecommerce_system.dto.customer.CustomerRequestDto;
 import com.example.ecommerce_system.dto.customer.CustomerResponseDto;
+import com.example.ecommerce_system.dto.customer.CustomerSummaryDto;
 import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.CustomerSummary;
 import com.example.ecommerce_system.store.CustomerStore;
+import com.example.ecommerce_system.util.KeysetCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -31,13 +35,44 @@ public class CustomerService {
     }
 
     /**
-     * Retrieve all customers with pagination.
+     * Retrieve a customer's lifetime order count and spend, last order date, open cart size and review count.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.store.CustomerStore#getAllCustomers(int, int)}.
+     * Uses {@link com.example.ecommerce_system.store.CustomerStore#getCustomerSummary(java.util.UUID)} and
+     * throws {@link com.example.ecommerce_system.exception.customer.CustomerNotFoundException}
+     * when no customer is found.
      */
-    public List<CustomerResponseDto> getAllCustomers(int limit, int offset) {
-        List<Customer> customers = this.customerStore.getAllCustomers(limit, offset);
-        return customers.stream().map(this::map).toList();
+    public CustomerSummaryDto getCustomerSummary(UUID customerId) {
+        CustomerSummary summary = this.customerStore.getCustomerSummary(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId.toString()));
+        return CustomerSummaryDto.builder()
+                .customerId(summary.getCustomerId())
+                .orderCount(summary.getOrderCount())
+                .lifetimeSpend(summary.getLifetimeSpend())
+                .lastOrderAt(summary.getLastOrderAt())
+                .cartItemCount(summary.getCartItemCount())
+                .cartQuantity(summary.getCartQuantity())
+                .reviewCount(summary.getReviewCount())
+                .build();
+    }
+
+    /**
+     * Retrieve a page of customers, newest first, using keyset pagination.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.store.CustomerStore#getAllCustomers(KeysetCursor, int)},
+     * asking for one extra row to know whether a next page exists.
+     */
+    public CursorPageDto<CustomerResponseDto> getAllCustomers(int limit, String cursor) {
+        List<Customer> customers = this.customerStore.getAllCustomers(KeysetCursor.decode(cursor), limit + 1);
+
+        boolean hasMore = customers.size() > limit;
+        List<Customer> page = hasMore ? customers.subList(0, limit) : customers;
+        String nextCursor = null;
+        if (hasMore) {
+            Customer last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getCustomerId()).encode();
+        }
+
+        return new CursorPageDto<>(page.stream().map(this::map).toList(), nextCursor);
     }
 
     /**
@@ -50,6 +85,16 @@ public class CustomerService {
         return customers.stream().map(this::map).toList();
     }
 
+    /**
+     * Suggest customers whose first name, last name, or email starts with the given prefix.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.store.CustomerStore#autocompleteCustomers(String, int)}.
+     */
+    public List<CustomerResponseDto> autocompleteCustomers(String prefix, int limit) {
+        List<Customer> customers = this.customerStore.autocompleteCustomers(prefix.trim(), limit);
+        return customers.stream().map(this::map).toList();
+    }
+
     /**
      * Update customer's details.
      * <p>
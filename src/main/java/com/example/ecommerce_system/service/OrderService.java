@@ -10,6 +10,7 @@ import com.example.ecommerce_system.exception.order.OrderDoesNotExist;
 import com.example.ecommerce_system.exception.product.InsufficientProductStock;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.model.*;
+import com.example.ecommerce_system.store.CartSessionStore;
 import com.example.ecommerce_system.store.CustomerStore;
 import com.example.ecommerce_system.store.OrdersStore;
 import com.example.ecommerce_system.store.ProductStore;
@@ -26,29 +27,40 @@ public class OrderService {
     private OrdersStore orderStore;
     private CustomerStore customerStore;
     private ProductStore productStore;
+    private CartSessionStore cartSessionStore;
 
     /**
      * Places a new order for the specified customer.
      * Validates order items, checks product availability and stock, calculates total amount, and creates the order with PENDING status.
      */
-    public OrderResponseDto placeOrder(OrderRequestDto request, UUID userId) {
-        var customer = customerStore.getCustomerByUserId(userId).orElseThrow(
-                () -> new CustomerNotFoundException(userId.toString()));
-
+    public OrderResponseDto placeOrder(OrderRequestDto request, UUID customerId) {
         var orderId = UUID.randomUUID();
 
         List<OrderItem> items = validateOrderItems(request.getItems(), orderId);
-        double totalAmount = items.stream()
-                .mapToDouble(item -> item.getPriceAtPurchase() * item.getQuantity())
-                .sum();
+        double totalAmount = OrderItem.totalOf(items);
 
-        Orders newOrder = createOrder(orderId, request, customer.getCustomerId(), totalAmount);
+        Orders newOrder = createOrder(orderId, request, customerId, totalAmount);
 
         Orders savedOrder = orderStore.createOrder(newOrder, items);
 
         return map(savedOrder, items);
     }
 
+    /**
+     * Converts the customer's cart into a new order with PENDING status.
+     * Cart lines, prices and stock are read and validated inside the same transaction that saves the order
+     * and clears the checked out items. With write-behind carts, pending changes are flushed and the session is
+     * held for the whole checkout so no concurrent cart change is lost.
+     */
+    public OrderResponseDto checkout(OrderRequestDto request, UUID customerId) {
+        Orders newOrder = createOrder(UUID.randomUUID(), request, customerId, 0);
+        CheckoutResult result = cartSessionStore.isEnabled()
+                ? cartSessionStore.checkout(customerId, () -> orderStore.checkoutCart(newOrder))
+                : orderStore.checkoutCart(newOrder);
+
+        return map(result.getOrder(), result.getItems());
+    }
+
     private List<OrderItem> validateOrderItems(List<OrderItemDto> orderedItems, UUID orderId) {
         return orderedItems.stream()
                 .map(itemDto -> {
@@ -136,10 +148,9 @@ public class OrderService {
      * Retrieves all orders for a customer with pagination.
      * Validates customer existence before fetching orders.
      */
-    public List<OrderResponseDto> getCustomerOrders(UUID userId, int limit, int offset) {
-        var customer = customerStore.getCustomerByUserId(userId).orElseThrow(
-                () -> new CustomerNotFoundException(userId.toString()));
-        var customerId = customer.getCustomerId();
+    public List<OrderResponseDto> getCustomerOrders(UUID customerId, int limit, int offset) {
+        customerStore.getCustomer(customerId).orElseThrow(
+                () -> new CustomerNotFoundException(customerId.toString()));
 
         List<Orders> orders = orderStore.getCustomerOrders(customerId, limit, offset);
         return orders.stream()
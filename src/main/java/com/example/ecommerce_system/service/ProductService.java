@@ -1,5 +1,6 @@
 package com.example.ecommerce_system.service;
 
+import com.example.ecommerce_system.dto.category.CategoryResponseDto;
 import com.example.ecommerce_system.dto.product.ProductFilter;
 import com.example.ecommerce_system.dto.product.ProductRequestDto;
 import com.example.ecommerce_system.dto.product.ProductResponseDto;
@@ -8,13 +9,16 @@ import com.example.ecommerce_system.dto.review.ReviewResponseDto;
 import com.example.ecommerce_system.exception.category.CategoryNotFoundException;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.model.Product;
+import com.example.ecommerce_system.model.ProductRatingStats;
 import com.example.ecommerce_system.store.CategoryStore;
 import com.example.ecommerce_system.store.ProductStore;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -44,7 +48,7 @@ public class ProductService {
                 Instant.now()
         );
         Product saved = this.productStore.createProduct(product);
-        return map(saved);
+        return map(saved, ProductRatingStats.EMPTY);
     }
 
     private void checkThatCategoryExists(UUID categoryId) {
@@ -52,7 +56,11 @@ public class ProductService {
                 () -> new CategoryNotFoundException(categoryId.toString()));
     }
 
-    private ProductResponseDto map(Product product) {
+    ProductResponseDto map(Product product) {
+        return map(product, reviewService.getRatingStats(product.getProductId()));
+    }
+
+    private ProductResponseDto map(Product product, ProductRatingStats ratingStats) {
         return ProductResponseDto.builder()
                 .productId(product.getProductId())
                 .categoryId(product.getCategoryId())
@@ -61,9 +69,23 @@ public class ProductService {
                 .price(product.getPrice())
                 .stock(product.getStockQuantity())
                 .updatedAt(product.getUpdatedAt())
+                .reviewCount(ratingStats.getReviewCount())
+                .averageRating(ratingStats.getAverageRating())
+                .ratingHistogram(ratingStats.getHistogram())
                 .build();
     }
 
+    /**
+     * Map a page of products, loading the rating statistics of the whole page with one query.
+     */
+    private List<ProductResponseDto> mapPage(List<Product> products) {
+        Map<UUID, ProductRatingStats> ratingStats = reviewService.getRatingStatsByProducts(
+                products.stream().map(Product::getProductId).toList());
+        return products.stream()
+                .map(product -> map(product, ratingStats.get(product.getProductId())))
+                .toList();
+    }
+
     public ProductResponseDto getProduct(UUID productId) {
         Product product = this.productStore.getProduct(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId.toString()));
@@ -75,7 +97,7 @@ public class ProductService {
      */
     public List<ProductResponseDto> getAllProducts(int limit, int offset) {
         List<Product> products = this.productStore.getAllProducts(limit, offset);
-        return products.stream().map(this::map).toList();
+        return mapPage(products);
     }
 
     public int countProductsByFilter(ProductFilter filter) {
@@ -97,7 +119,7 @@ public class ProductService {
      */
     public List<ProductResponseDto> searchProducts(ProductFilter filter, int limit, int offset) {
         List<Product> products = this.productStore.searchProducts(filter, limit, offset);
-        return products.stream().map(this::map).toList();
+        return mapPage(products);
     }
 
     /**
@@ -126,28 +148,41 @@ public class ProductService {
     /**
      * Get all products with their categories and reviews.
      * Each product includes a limited number of reviews based on reviewLimit parameter.
+     * Reviews for the whole page are loaded with one query and each distinct category is resolved once.
      */
     public List<ProductWithReviewsDto> getAllProductsWithReviews(int limit, int offset, int reviewLimit) {
         List<Product> products = this.productStore.getAllProducts(limit, offset);
-        return products.stream().map(product -> {
-            List<ReviewResponseDto> reviews = reviewService.getReviewsByProduct(
-                    product.getProductId(),
-                    reviewLimit,
-                    0
-            );
-            return mapToProductWithReviews(product, reviews);
-        }).toList();
+        List<UUID> productIds = products.stream().map(Product::getProductId).toList();
+
+        Map<UUID, List<ReviewResponseDto>> reviews = reviewService.getTopReviewsByProducts(productIds, reviewLimit);
+        Map<UUID, ProductRatingStats> ratingStats = reviewService.getRatingStatsByProducts(productIds);
+
+        Map<UUID, CategoryResponseDto> categories = new HashMap<>();
+        products.forEach(product -> categories.computeIfAbsent(product.getCategoryId(), categoryService::getCategory));
+
+        return products.stream()
+                .map(product -> mapToProductWithReviews(
+                        product,
+                        categories.get(product.getCategoryId()),
+                        reviews.get(product.getProductId()),
+                        ratingStats.get(product.getProductId())))
+                .toList();
     }
 
-    private ProductWithReviewsDto mapToProductWithReviews(Product product, List<ReviewResponseDto> reviews) {
+    private ProductWithReviewsDto mapToProductWithReviews(
+            Product product, CategoryResponseDto category, List<ReviewResponseDto> reviews,
+            ProductRatingStats ratingStats) {
         return ProductWithReviewsDto.builder()
                 .productId(product.getProductId())
-                .category(categoryService.getCategory(product.getCategoryId()))
+                .category(category)
                 .name(product.getName())
                 .description(product.getDescription())
                 .price(product.getPrice())
                 .stock(product.getStockQuantity())
                 .updatedAt(product.getUpdatedAt())
+                .reviewCount(ratingStats.getReviewCount())
+                .averageRating(ratingStats.getAverageRating())
+                .ratingHistogram(ratingStats.getHistogram())
                 .reviews(reviews)
                 .build();
     }
@@ -1,22 +1,29 @@
 package com.example.ecommerce_system.service;
 
+import com.example.ecommerce_system.dto.CursorPageDto;
 import com.example.ecommerce_system.dto.customer.CustomerResponseDto;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
 import com.example.ecommerce_system.dto.review.ReviewRequestDto;
 import com.example.ecommerce_system.dto.review.ReviewResponseDto;
 import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.exception.review.CustomerHasNotOrderedProductException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.ProductRatingStats;
+import com.example.ecommerce_system.model.RawJson;
 import com.example.ecommerce_system.model.Review;
 import com.example.ecommerce_system.store.CustomerStore;
 import com.example.ecommerce_system.store.OrdersStore;
 import com.example.ecommerce_system.store.ProductStore;
 import com.example.ecommerce_system.store.ReviewStore;
+import com.example.ecommerce_system.util.KeysetCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -31,13 +38,12 @@ public class ReviewService {
      * Create a new review for a product.
      * Validates that the product exists, the customer exists, and the customer has ordered and received (PROCESSED status) the product.
      */
-    public ReviewResponseDto createReview(UUID productId, UUID userId, ReviewRequestDto request) {
+    public ReviewResponseDto createReview(UUID productId, UUID customerId, ReviewRequestDto request) {
         productStore.getProduct(productId)
                 .orElseThrow(() -> new ProductNotFoundException(productId.toString()));
 
-        var customer = customerStore.getCustomerByUserId(userId)
-                .orElseThrow(() -> new CustomerNotFoundException(userId.toString()));
-        var customerId = customer.getCustomerId();
+        var customer = customerStore.getCustomer(customerId)
+                .orElseThrow(() -> new CustomerNotFoundException(customerId.toString()));
 
         validateCustomerHasProcessedProduct(customerId, productId);
 
@@ -46,8 +52,9 @@ public class ReviewService {
                 .productId(productId)
                 .customerId(customerId)
                 .rating(request.getRating())
-                .comment(request.getComment())
+                .comment(RawJson.of(request.getComment()))
                 .createdAt(Instant.now())
+                .customer(customer)
                 .build();
 
         Review savedReview = reviewStore.createReview(review);
@@ -67,10 +74,7 @@ public class ReviewService {
     }
 
     private ReviewResponseDto mapToDto(Review review) {
-        Customer customer = customerStore.getCustomer(review.getCustomerId())
-                .orElseThrow(() -> new CustomerNotFoundException(review.getCustomerId().toString()));
-
-        var customerDto = mapToCustomerDto(customer);
+        var customerDto = mapToCustomerDto(review.getCustomer());
 
         return ReviewResponseDto.builder()
                 .reviewId(review.getReviewId())
@@ -93,17 +97,91 @@ public class ReviewService {
     }
 
     /**
-     * Retrieve paginated reviews for a specific product.
-     * Validates product existence before fetching reviews. Each review includes customer details.
+     * Retrieve a page of reviews for a specific product, newest first, using keyset pagination.
+     * Each review includes customer details loaded in the same query. Product existence is only
+     * checked when the page is empty, since a non-empty page proves the product exists.
+     *
+     * @throws IllegalArgumentException when {@code limit} is below 1
      */
-    public List<ReviewResponseDto> getReviewsByProduct(UUID productId, int limit, int offset) {
-        productStore.getProduct(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId.toString()));
+    public CursorPageDto<ReviewResponseDto> getReviewsByProduct(UUID productId, int limit, String cursor) {
+        requirePositiveLimit(limit);
+        List<Review> reviews = reviewStore.getReviewsByProduct(productId, KeysetCursor.decode(cursor), limit + 1);
+
+        if (reviews.isEmpty()) {
+            productStore.getProduct(productId)
+                    .orElseThrow(() -> new ProductNotFoundException(productId.toString()));
+        }
 
-        List<Review> reviews = reviewStore.getReviewsByProduct(productId, limit, offset);
+        return toPage(reviews, limit);
+    }
 
-        return reviews.stream()
-                .map(this::mapToDto)
-                .toList();
+    /**
+     * Search reviews by product, comment keywords, rating range and creation date, newest first,
+     * using keyset pagination. Range bounds are inclusive and every criterion is optional.
+     *
+     * @throws IllegalArgumentException when a range's lower bound is above its upper bound or {@code limit} is below 1
+     */
+    public CursorPageDto<ReviewResponseDto> searchReviews(ReviewFilter filter, int limit, String cursor) {
+        requirePositiveLimit(limit);
+        if (filter.hasMinRating() && filter.hasMaxRating() && filter.getMinRating() > filter.getMaxRating())
+            throw new IllegalArgumentException("minRating must not be greater than maxRating");
+        if (filter.hasCreatedFrom() && filter.hasCreatedTo() && filter.getCreatedFrom().isAfter(filter.getCreatedTo()))
+            throw new IllegalArgumentException("from must not be after to");
+
+        List<Review> reviews = reviewStore.searchReviews(filter, KeysetCursor.decode(cursor), limit + 1);
+        return toPage(reviews, limit);
+    }
+
+    private static void requirePositiveLimit(int limit) {
+        if (limit < 1) throw new IllegalArgumentException("limit must be at least 1");
+    }
+
+    private CursorPageDto<ReviewResponseDto> toPage(List<Review> reviews, int limit) {
+        boolean hasMore = reviews.size() > limit;
+        List<Review> page = hasMore ? reviews.subList(0, limit) : reviews;
+        String nextCursor = null;
+        if (hasMore) {
+            Review last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getReviewId()).encode();
+        }
+
+        return new CursorPageDto<>(page.stream().map(this::mapToDto).toList(), nextCursor);
+    }
+
+    /**
+     * Retrieve the rating statistics of a product, {@link ProductRatingStats#EMPTY} when it has no reviews.
+     */
+    public ProductRatingStats getRatingStats(UUID productId) {
+        return reviewStore.getRatingStats(productId);
+    }
+
+    /**
+     * Retrieve the rating statistics of several products with a single query.
+     * Products without reviews map to {@link ProductRatingStats#EMPTY}.
+     */
+    public Map<UUID, ProductRatingStats> getRatingStatsByProducts(List<UUID> productIds) {
+        Map<UUID, ProductRatingStats> stats = reviewStore.getRatingStatsByProducts(productIds);
+
+        Map<UUID, ProductRatingStats> result = new HashMap<>();
+        for (UUID productId : productIds) {
+            result.put(productId, stats.getOrDefault(productId, ProductRatingStats.EMPTY));
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the latest {@code perProduct} reviews for each of the given products with a single query.
+     * Products without reviews map to an empty list.
+     */
+    public Map<UUID, List<ReviewResponseDto>> getTopReviewsByProducts(List<UUID> productIds, int perProduct) {
+        Map<UUID, List<Review>> reviews = reviewStore.getTopReviewsByProducts(productIds, perProduct);
+
+        Map<UUID, List<ReviewResponseDto>> result = new HashMap<>();
+        for (UUID productId : productIds) {
+            result.put(productId, reviews.getOrDefault(productId, List.of()).stream()
+                    .map(this::mapToDto)
+                    .toList());
+        }
+        return result;
     }
 }
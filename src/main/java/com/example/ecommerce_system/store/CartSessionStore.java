@@ -0,0 +1,435 @@
+package com.example.ecommerce_system.store;
+
+import com.example.ecommerce_system.dao.interfaces.CartDao;
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.exception.DatabaseConnectionException;
+import com.example.ecommerce_system.exception.cart.CartRetrievalException;
+import com.example.ecommerce_system.exception.cart.CartUpdateException;
+import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartItem;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Optional write-behind engine for carts.
+ * <p>
+ * When enabled, each customer's cart lives in a bounded in-memory session and mutations only touch memory.
+ * Changes are coalesced per session and written to {@code cart}/{@code cart_item} in JDBC batches once they are
+ * older than the configured maximum staleness, when a session is evicted, on checkout and on shutdown.
+ * A failed flush keeps the session dirty so the changes are retried on the next run.
+ * <p>
+ * A checkout closes the session it ran against. Mutations that were waiting on a closed session are
+ * applied to a fresh session loaded after the checkout instead of being dropped with it.
+ */
+@Repository
+public class CartSessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(CartSessionStore.class);
+
+    private final DataSource dataSource;
+    private final CartDao cartDao;
+    private final boolean enabled;
+    private final Duration maxStaleness;
+    private final int flushBatchSize;
+
+    private final Cache<UUID, CartSession> sessions;
+
+    /**
+     * Dirty sessions pushed out of {@link #sessions} by size or idle eviction.
+     * They are flushed by the next run and re-admitted if their customer comes back first.
+     */
+    private final ConcurrentMap<UUID, CartSession> evicted = new ConcurrentHashMap<>();
+
+    public CartSessionStore(
+            DataSource dataSource,
+            CartDao cartDao,
+            @Value("${cart.write-behind.enabled:false}") boolean enabled,
+            @Value("${cart.write-behind.max-sessions:10000}") long maxSessions,
+            @Value("${cart.write-behind.idle-timeout-ms:1800000}") long idleTimeoutMs,
+            @Value("${cart.write-behind.max-staleness-ms:5000}") long maxStalenessMs,
+            @Value("${cart.write-behind.flush-batch-size:200}") int flushBatchSize
+    ) {
+        this.dataSource = dataSource;
+        this.cartDao = cartDao;
+        this.enabled = enabled;
+        this.maxStaleness = Duration.ofMillis(maxStalenessMs);
+        this.flushBatchSize = flushBatchSize;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfterAccess(Duration.ofMillis(idleTimeoutMs))
+                .evictionListener(this::onEviction)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Retrieve the cart of a customer, loading the session from the database on first access.
+     */
+    public Optional<Cart> getCart(UUID customerId) {
+        return Optional.ofNullable(session(customerId).cart());
+    }
+
+    /**
+     * Return the cart of a customer, creating it in memory when the customer has none yet.
+     * The new cart is persisted together with its first flush.
+     */
+    public Cart getOrCreateCart(UUID customerId) {
+        return mutate(customerId, CartSession::getOrCreateCart);
+    }
+
+    /**
+     * Get all items in a customer's cart, most recently added first.
+     */
+    public List<CartItem> getCartItems(UUID customerId) {
+        return session(customerId).items();
+    }
+
+    /**
+     * Retrieve a single item from a customer's cart.
+     */
+    public Optional<CartItem> getCartItem(UUID customerId, UUID cartItemId) {
+        return Optional.ofNullable(session(customerId).item(cartItemId));
+    }
+
+    /**
+     * Add an item to a customer's cart in memory.
+     */
+    public void addCartItem(UUID customerId, CartItem item) {
+        mutate(customerId, session -> {
+            session.put(item);
+            return null;
+        });
+    }
+
+    /**
+     * Update the quantity of an item in a customer's cart in memory.
+     */
+    public Optional<CartItem> updateCartItem(UUID customerId, UUID cartItemId, int newQuantity) {
+        return Optional.ofNullable(mutate(customerId, session -> session.updateQuantity(cartItemId, newQuantity)));
+    }
+
+    /**
+     * Remove an item from a customer's cart in memory.
+     */
+    public void removeCartItem(UUID customerId, UUID cartItemId) {
+        mutate(customerId, session -> {
+            session.remove(cartItemId);
+            return null;
+        });
+    }
+
+    /**
+     * Check out a customer's cart while holding its session.
+     * <p>
+     * Pending changes are written first, then {@code checkout} changes the cart directly in the database and the
+     * session is closed and dropped so the next access reloads it. Mutations issued meanwhile wait for the session
+     * and are then applied to the reloaded one. Throws {@link CartUpdateException} when the pending changes could
+     * not be persisted, leaving the session untouched.
+     */
+    public <T> T checkout(UUID customerId, Supplier<T> checkout) {
+        CartSession session = session(customerId);
+        synchronized (session) {
+            if (session.isDirty() && !write(List.of(session)))
+                throw new CartUpdateException(customerId.toString());
+
+            T result = checkout.get();
+            session.close();
+            sessions.asMap().remove(customerId, session);
+            evicted.remove(customerId, session);
+            return result;
+        }
+    }
+
+    /**
+     * Flush every session whose oldest pending change is older than the maximum staleness,
+     * together with all evicted dirty sessions.
+     *
+     * @return number of sessions written
+     */
+    public int flushStale() {
+        Instant threshold = Instant.now().minus(maxStaleness);
+        List<CartSession> due = new ArrayList<>(evicted.values());
+        sessions.asMap().values().stream()
+                .filter(session -> session.isDirtySince(threshold))
+                .forEach(due::add);
+        return flushAll(due);
+    }
+
+    /**
+     * Flush every pending change on shutdown so a graceful stop never loses cart updates.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!enabled) return;
+
+        List<CartSession> dirty = new ArrayList<>(evicted.values());
+        sessions.asMap().values().stream().filter(CartSession::isDirty).forEach(dirty::add);
+        int written = flushAll(dirty);
+        logger.info("Flushed {} cart sessions on shutdown", written);
+    }
+
+    private int flushAll(List<CartSession> dirty) {
+        int written = 0;
+        for (int from = 0; from < dirty.size(); from += flushBatchSize) {
+            List<CartSession> batch = dirty.subList(from, Math.min(from + flushBatchSize, dirty.size()));
+            if (write(batch)) {
+                written += batch.size();
+                continue;
+            }
+
+            // Isolate the failing session so it does not hold back the rest of the batch
+            for (CartSession session : batch) {
+                if (write(List.of(session))) written++;
+                else logger.error("Failed to flush cart session of customer {}, will retry", session.customerId);
+            }
+        }
+        evicted.values().removeIf(session -> !session.isDirty());
+        return written;
+    }
+
+    private boolean write(List<CartSession> batch) {
+        List<PendingChanges> changes = batch.stream().map(CartSession::snapshot).toList();
+
+        List<Cart> carts = changes.stream().map(PendingChanges::cart).filter(Objects::nonNull).toList();
+        List<CartItem> upserts = changes.stream().flatMap(change -> change.upserts().stream()).toList();
+        List<UUID> deletes = changes.stream().flatMap(change -> change.deletes().stream()).toList();
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!carts.isEmpty()) this.cartDao.upsertBatch(conn, carts);
+                if (!upserts.isEmpty()) this.cartDao.upsertItemsBatch(conn, upserts);
+                if (!deletes.isEmpty()) this.cartDao.deleteItemsBatch(conn, deletes);
+                conn.commit();
+            } catch (DaoException e) {
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                logger.warn("Cart flush of {} sessions failed: {}", batch.size(), e.getMessage());
+                return false;
+            }
+        } catch (SQLException e) {
+            logger.warn("Cart flush of {} sessions failed: {}", batch.size(), e.getMessage());
+            return false;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).markFlushed(changes.get(i));
+        }
+        return true;
+    }
+
+    private CartSession session(UUID customerId) {
+        return sessions.get(customerId, this::load);
+    }
+
+    /**
+     * Apply a change to the customer's live session, retrying against a reloaded session when the one
+     * obtained was closed by a concurrent checkout.
+     */
+    private <T> T mutate(UUID customerId, Function<CartSession, T> change) {
+        while (true) {
+            CartSession session = session(customerId);
+            synchronized (session) {
+                if (!session.isClosed()) return change.apply(session);
+            }
+        }
+    }
+
+    private CartSession load(UUID customerId) {
+        CartSession parked = evicted.remove(customerId);
+        if (parked != null) return parked;
+
+        try (Connection conn = dataSource.getConnection()) {
+            Optional<Cart> cart = this.cartDao.findByCustomerId(conn, customerId);
+            List<CartItem> items = cart.isPresent()
+                    ? this.cartDao.findItemsByCartId(conn, cart.get().getCartId())
+                    : List.of();
+            return new CartSession(customerId, cart.orElse(null), items);
+        } catch (DaoException e) {
+            throw new CartRetrievalException(String.valueOf(customerId));
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    private void onEviction(UUID customerId, CartSession session, RemovalCause cause) {
+        if (customerId != null && session != null && session.isDirty()) {
+            evicted.put(customerId, session);
+        }
+    }
+
+    /**
+     * Changes captured from a session for a single flush.
+     *
+     * @param cart the cart header when it has to be written, otherwise {@code null}
+     * @param upserts the exact item instances written, used to detect newer changes after the flush
+     * @param deletes the item ids deleted
+     */
+    private record PendingChanges(Cart cart, List<CartItem> upserts, List<UUID> deletes) {}
+
+    /**
+     * In-memory state of one customer's cart. All access is guarded by the session's monitor.
+     */
+    private static final class CartSession {
+        private final UUID customerId;
+        private Cart cart;
+        private boolean cartDirty;
+        private final LinkedHashMap<UUID, CartItem> items = new LinkedHashMap<>();
+        private final Set<UUID> persistedItems = new HashSet<>();
+        private final Set<UUID> dirtyItems = new HashSet<>();
+        private final Set<UUID> removedItems = new HashSet<>();
+        private Instant dirtySince;
+        private boolean closed;
+
+        private CartSession(UUID customerId, Cart cart, List<CartItem> loadedItems) {
+            this.customerId = customerId;
+            this.cart = cart;
+            // Loaded newest first; keep insertion order oldest first so new items are appended
+            for (int i = loadedItems.size() - 1; i >= 0; i--) {
+                CartItem item = loadedItems.get(i);
+                items.put(item.getCartItemId(), item);
+                persistedItems.add(item.getCartItemId());
+            }
+        }
+
+        synchronized Cart cart() {
+            return cart;
+        }
+
+        synchronized Cart getOrCreateCart() {
+            if (cart == null) {
+                Instant now = Instant.now();
+                cart = Cart.builder()
+                        .cartId(UUID.randomUUID())
+                        .customerId(customerId)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build();
+                cartDirty = true;
+                touch();
+            }
+            return cart;
+        }
+
+        synchronized List<CartItem> items() {
+            List<CartItem> newestFirst = new ArrayList<>(items.values());
+            Collections.reverse(newestFirst);
+            return newestFirst;
+        }
+
+        synchronized CartItem item(UUID cartItemId) {
+            return items.get(cartItemId);
+        }
+
+        synchronized void put(CartItem item) {
+            items.put(item.getCartItemId(), item);
+            removedItems.remove(item.getCartItemId());
+            dirtyItems.add(item.getCartItemId());
+            touchCart();
+        }
+
+        synchronized CartItem updateQuantity(UUID cartItemId, int newQuantity) {
+            CartItem existing = items.get(cartItemId);
+            if (existing == null) return null;
+
+            CartItem updated = CartItem.builder()
+                    .cartItemId(existing.getCartItemId())
+                    .cartId(existing.getCartId())
+                    .productId(existing.getProductId())
+                    .quantity(newQuantity)
+                    .addedAt(existing.getAddedAt())
+                    .build();
+            items.put(cartItemId, updated);
+            dirtyItems.add(cartItemId);
+            touchCart();
+            return updated;
+        }
+
+        synchronized void remove(UUID cartItemId) {
+            if (items.remove(cartItemId) == null) return;
+
+            dirtyItems.remove(cartItemId);
+            // An item that never reached the database needs no delete
+            if (persistedItems.contains(cartItemId)) removedItems.add(cartItemId);
+            touchCart();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+
+        synchronized boolean isDirty() {
+            return dirtySince != null;
+        }
+
+        synchronized boolean isDirtySince(Instant threshold) {
+            return dirtySince != null && !dirtySince.isAfter(threshold);
+        }
+
+        synchronized PendingChanges snapshot() {
+            List<CartItem> upserts = dirtyItems.stream().map(items::get).filter(Objects::nonNull).toList();
+            return new PendingChanges(cartDirty ? cart : null, upserts, List.copyOf(removedItems));
+        }
+
+        /**
+         * Clear the changes that were written. Anything modified while the flush was running stays dirty.
+         */
+        synchronized void markFlushed(PendingChanges written) {
+            if (written.cart() != null && written.cart() == cart) cartDirty = false;
+
+            for (CartItem item : written.upserts()) {
+                UUID cartItemId = item.getCartItemId();
+                persistedItems.add(cartItemId);
+                CartItem current = items.get(cartItemId);
+                if (current == item) dirtyItems.remove(cartItemId);
+                else if (current == null) removedItems.add(cartItemId);
+            }
+
+            for (UUID cartItemId : written.deletes()) {
+                removedItems.remove(cartItemId);
+                persistedItems.remove(cartItemId);
+            }
+
+            if (!cartDirty && dirtyItems.isEmpty() && removedItems.isEmpty()) dirtySince = null;
+        }
+
+        private void touchCart() {
+            if (cart != null) {
+                cart = Cart.builder()
+                        .cartId(cart.getCartId())
+                        .customerId(cart.getCustomerId())
+                        .createdAt(cart.getCreatedAt())
+                        .updatedAt(Instant.now())
+                        .build();
+                cartDirty = true;
+            }
+            touch();
+        }
+
+        private void touch() {
+            if (dirtySince == null) dirtySince = Instant.now();
+        }
+    }
+}
@@ -6,24 +6,36 @@ import com.example.ecommerce_system.exception.DatabaseConnectionException;
 import com.example.ecommerce_system.exception.cart.CartCreationException;
 import com.example.ecommerce_system.exception.cart.CartItemAddException;
 import com.example.ecommerce_system.exception.cart.CartItemRemoveException;
+import com.example.ecommerce_system.exception.cart.CartPurgeException;
 import com.example.ecommerce_system.exception.cart.CartRetrievalException;
 import com.example.ecommerce_system.exception.cart.CartUpdateException;
 import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartAggregate;
 import com.example.ecommerce_system.model.CartItem;
+import com.example.ecommerce_system.model.CartPurgeResult;
+import com.example.ecommerce_system.model.Product;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
+/**
+ * Persists carts and caches each customer's whole {@link CartAggregate} under a single
+ * {@code 'customer:' + customerId} key in the "carts" cache.
+ * Successful mutations update the cached aggregate in place instead of evicting it.
+ */
 @AllArgsConstructor
 @Repository
 public class CartStore {
@@ -33,19 +45,17 @@ public class CartStore {
 
     /**
      * Create/Persist a new Cart inside a transaction.
+     * The new, empty aggregate is cached under the customer key.
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#save(java.sql.Connection, com.example.ecommerce_system.model.Cart)}.
      */
-    @Caching(evict = {
-            @CacheEvict(value = "carts", key = "'customer:' + #cart.customerId"),
-            @CacheEvict(value = "carts", key = "'cart:' + #cart.cartId")
-    })
-    public Cart createCart(Cart cart) {
+    @CachePut(value = "carts", key = "'customer:' + #cart.customerId")
+    public CartAggregate createCart(Cart cart) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 this.cartDao.save(conn, cart);
                 conn.commit();
-                return cart;
+                return CartAggregate.empty(cart);
             } catch (DaoException e) {
                 try { conn.rollback(); } catch (SQLException ignored) {}
                 throw new CartCreationException(String.valueOf(cart.getCartId()));
@@ -56,15 +66,16 @@ public class CartStore {
     }
 
     /**
-     * Add a new item to a cart inside a transaction.
+     * Add a new item to a customer's cart inside a transaction.
+     * On success the item and its product snapshot are added to the cached aggregate.
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#addItem(java.sql.Connection, com.example.ecommerce_system.model.CartItem)}.
      */
-    @CacheEvict(value = "carts", key = "'cart:' + #item.cartId")
-    public void addCartItem(CartItem item) {
+    public void addCartItem(UUID customerId, CartItem item, Product product) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 this.cartDao.addItem(conn, item);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
                 conn.commit();
             } catch (DaoException e) {
                 try { conn.rollback(); } catch (SQLException ignored) {}
@@ -73,26 +84,21 @@ public class CartStore {
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
+        updateCachedCart(customerId, cart -> cart.withItem(item, product));
     }
 
     /**
      * Remove a cart item by its id inside a transaction.
-     * evict entire cache after this is done successfully
+     * On success the item is removed from the cached aggregate.
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#deleteItemById(java.sql.Connection, java.util.UUID)}.
      */
-    @Cacheable(value = "carts", key = "'item:' + #cartItemId")
-    public void removeCartItem(UUID cartItemId) {
+    public void removeCartItem(UUID customerId, UUID cartItemId) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
-                // First, find the cart item to get the cart ID for cache eviction
-                Optional<CartItem> cartItem = this.cartDao.findCartItemById(conn, cartItemId);
                 this.cartDao.deleteItemById(conn, cartItemId);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
                 conn.commit();
-
-                cartItem.ifPresent(item ->
-                    evictCartCache(item.getCartId())
-                );
             } catch (DaoException e) {
                 try { conn.rollback(); } catch (SQLException ignored) {}
                 throw new CartItemRemoveException(String.valueOf(cartItemId));
@@ -100,33 +106,21 @@ public class CartStore {
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
-    }
-
-    private void evictCartCache(UUID cartId) {
-        var cache = cacheManager.getCache("carts");
-        if (cache != null) {
-            cache.evict("cart:" + cartId);
-            cache.evict("items:" + cartId);
-        }
+        updateCachedCart(customerId, cart -> cart.withoutItem(cartItemId));
     }
 
     /**
      * Update quantity of a cart item inside a transaction.
+     * On success the quantity is updated in the cached aggregate.
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#updateItemQuantity(java.sql.Connection, java.util.UUID, int)}.
      */
-    @CacheEvict(value = "carts", key = "'item' + #cartItemId")
-    public void updateCartItem(UUID cartItemId, int newQuantity) {
+    public void updateCartItem(UUID customerId, UUID cartItemId, int newQuantity) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
-                // First, find the cart item to get the cart ID for cache eviction
-                Optional<CartItem> cartItem = this.cartDao.findCartItemById(conn, cartItemId);
                 this.cartDao.updateItemQuantity(conn, cartItemId, newQuantity);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
                 conn.commit();
-
-                cartItem.ifPresent(item ->
-                    evictCartCache(item.getCartId())
-                );
             } catch (DaoException e) {
                 try { conn.rollback(); } catch (SQLException ignored) {}
                 throw new CartUpdateException(String.valueOf(cartItemId));
@@ -134,31 +128,93 @@ public class CartStore {
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
+        updateCachedCart(customerId, cart -> cart.withQuantity(cartItemId, newQuantity));
     }
 
     /**
-     * Get all items in a cart.
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#findItemsByCartId(java.sql.Connection, java.util.UUID)}.
+     * Add several items to a customer's cart in one transaction using a JDBC batch.
+     * On success the items and their product snapshots are added to the cached aggregate.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#addItemsBatch(java.sql.Connection, java.util.List)}.
      */
-    @Cacheable(value = "carts", key = "'items:' + #cartId")
-    public List<CartItem> getCartItems(UUID cartId) {
+    public void addCartItems(UUID customerId, List<CartItem> items, Map<UUID, Product> products) {
         try (Connection conn = dataSource.getConnection()) {
-            return this.cartDao.findItemsByCartId(conn, cartId);
-        } catch (DaoException e) {
-            throw new CartRetrievalException(String.valueOf(cartId));
+            conn.setAutoCommit(false);
+            try {
+                this.cartDao.addItemsBatch(conn, items);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
+                conn.commit();
+            } catch (DaoException e) {
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                throw new CartItemAddException(String.valueOf(customerId));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+        updateCachedCart(customerId, cart -> {
+            for (CartItem item : items) cart = cart.withItem(item, products.get(item.getProductId()));
+            return cart;
+        });
+    }
+
+    /**
+     * Update the quantity of several cart items in one transaction using a JDBC batch.
+     * On success the quantities are updated in the cached aggregate.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#updateItemQuantitiesBatch(java.sql.Connection, java.util.List)}.
+     */
+    public void updateCartItems(UUID customerId, List<CartItem> items) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                this.cartDao.updateItemQuantitiesBatch(conn, items);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
+                conn.commit();
+            } catch (DaoException e) {
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                throw new CartUpdateException(String.valueOf(customerId));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+        updateCachedCart(customerId, cart -> {
+            for (CartItem item : items) cart = cart.withQuantity(item.getCartItemId(), item.getQuantity());
+            return cart;
+        });
+    }
+
+    /**
+     * Remove several cart items in one transaction using a JDBC batch.
+     * On success the items are removed from the cached aggregate.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#deleteItemsBatch(java.sql.Connection, java.util.List)}.
+     */
+    public void removeCartItems(UUID customerId, List<UUID> cartItemIds) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                this.cartDao.deleteItemsBatch(conn, cartItemIds);
+                this.cartDao.touchByCustomerId(conn, customerId, Instant.now());
+                conn.commit();
+            } catch (DaoException e) {
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                throw new CartItemRemoveException(String.valueOf(customerId));
+            }
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
+        updateCachedCart(customerId, cart -> {
+            for (UUID cartItemId : cartItemIds) cart = cart.withoutItem(cartItemId);
+            return cart;
+        });
     }
 
     /**
-     * Retrieve a cart by customer id.
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#findByCustomerId(java.sql.Connection, java.util.UUID)}.
+     * Retrieve a customer's cart with its items and product snapshots.
+     * Results are cached in the "carts" cache under the customer key.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#findAggregateByCustomerId(java.sql.Connection, java.util.UUID)}.
      */
     @Cacheable(value = "carts", key = "'customer:' + #customerId")
-    public Optional<Cart> getCartByCustomerId(UUID customerId) {
+    public Optional<CartAggregate> getCart(UUID customerId) {
         try (Connection conn = dataSource.getConnection()) {
-            return this.cartDao.findByCustomerId(conn, customerId);
+            return this.cartDao.findAggregateByCustomerId(conn, customerId);
         } catch (DaoException e) {
             throw new CartRetrievalException(String.valueOf(customerId));
         } catch (SQLException e) {
@@ -167,10 +223,10 @@ public class CartStore {
     }
 
     /**
-     * Retrieve a single cart item by its ID.
+     * Retrieve a single cart item by its ID, regardless of the cart it belongs to.
+     * Not cached; only used to tell a missing item apart from one in another customer's cart.
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#findCartItemById(java.sql.Connection, java.util.UUID)}.
      */
-    @Cacheable(value = "carts", key = "'item' + #cartItemId")
     public Optional<CartItem> getCartItem(UUID cartItemId) {
         try (Connection conn = dataSource.getConnection()) {
             return this.cartDao.findCartItemById(conn, cartItemId);
@@ -180,4 +236,48 @@ public class CartStore {
             throw new DatabaseConnectionException(e);
         }
     }
+
+    /**
+     * Delete one batch of carts idle since {@code cutoff} inside a short transaction.
+     * Cached aggregates of the affected customers are evicted.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CartDao#deleteIdleCarts(java.sql.Connection, java.time.Instant, int)}.
+     */
+    public CartPurgeResult purgeIdleCarts(Instant cutoff, int batchSize) {
+        CartPurgeResult result;
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                result = this.cartDao.deleteIdleCarts(conn, cutoff, batchSize);
+                conn.commit();
+            } catch (DaoException e) {
+                try { conn.rollback(); } catch (SQLException ignored) {}
+                throw new CartPurgeException(cutoff.toString());
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+
+        var cache = cacheManager.getCache("carts");
+        if (cache != null) result.getCustomerIds().forEach(customerId -> cache.evict("customer:" + customerId));
+        return result;
+    }
+
+    /**
+     * Apply a change to the cached aggregate of a customer atomically.
+     * Nothing is cached when the customer's cart has not been read yet; the next read loads it.
+     * Falls back to eviction when the cache is not backed by Caffeine.
+     */
+    @SuppressWarnings("unchecked")
+    private void updateCachedCart(UUID customerId, UnaryOperator<CartAggregate> change) {
+        var cache = cacheManager.getCache("carts");
+        if (cache == null) return;
+
+        String key = "customer:" + customerId;
+        if (cache.getNativeCache() instanceof Cache<?, ?> nativeCache) {
+            ((Cache<Object, Object>) nativeCache).asMap().computeIfPresent(key,
+                    (k, cached) -> cached instanceof CartAggregate cart ? change.apply(cart) : null);
+        } else {
+            cache.evict(key);
+        }
+    }
 }
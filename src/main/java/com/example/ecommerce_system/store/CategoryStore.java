@@ -3,8 +3,11 @@ package com.example.ecommerce_system.store;
 import com.example.ecommerce_system.dao.interfaces.CategoryDao;
 import com.example.ecommerce_system.exception.category.*;
 import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
+import com.example.ecommerce_system.model.CategorySnapshot;
 import com.example.ecommerce_system.exception.*;
-import lombok.AllArgsConstructor;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
@@ -13,30 +16,56 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
-@AllArgsConstructor
+/**
+ * Categories are a small, rarely changing table, so every read is served from an immutable
+ * {@link CategorySnapshot} loaded at startup. Each write swaps in a new snapshot atomically.
+ * Updates and deletes apply their snapshot change while the database still holds the row lock,
+ * so the snapshot sees concurrent writes to one category in the same order as the database commits them.
+ */
+@RequiredArgsConstructor
 @Repository
 public class CategoryStore {
     private final DataSource dataSource;
     private final CategoryDao categoryDao;
+    private final AtomicReference<CategorySnapshot> snapshot = new AtomicReference<>(CategorySnapshot.EMPTY);
+
+    /**
+     * Load the whole category table into the in-memory snapshot.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findAll(java.sql.Connection)}.
+     */
+    @PostConstruct
+    public void reload() {
+        try (Connection conn = dataSource.getConnection()) {
+            snapshot.set(CategorySnapshot.of(categoryDao.findAll(conn)));
+        } catch (DaoException e) {
+            throw new CategoryRetrievalException("all");
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
 
     /**
      * Persist a new {@link com.example.ecommerce_system.model.Category} within a transaction.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#save(java.sql.Connection, com.example.ecommerce_system.model.Category)}.
-     * On success this method evicts relevant entries in the "categories" cache via the Spring Cache abstraction
-     * (see the {@link org.springframework.cache.annotation.CacheEvict} annotation applied to this method).
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#save(java.sql.Connection, com.example.ecommerce_system.model.Category)}
+     * and registers it under its parent via {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#insertHierarchy(java.sql.Connection, com.example.ecommerce_system.model.Category)}.
+     * On commit the category is added to the in-memory snapshot.
      */
-    @CacheEvict(value = "categories", allEntries = true)
     public Category createCategory(Category category) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 categoryDao.save(conn, category);
+                categoryDao.insertHierarchy(conn, category);
                 conn.commit();
-                return category;
             } catch (DaoException e) {
                 conn.rollback();
                 throw new CategoryCreationException(category.getName());
@@ -44,23 +73,42 @@ public class CategoryStore {
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
+        snapshot.updateAndGet(current -> current.with(category));
+        return category;
     }
 
     /**
      * Update an existing {@link com.example.ecommerce_system.model.Category} inside a transaction.
      * <p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#update(java.sql.Connection, com.example.ecommerce_system.model.Category)}.
-     * On success this method evicts relevant entries in the "categories" cache via the Spring Cache abstraction
-     * (see the {@link org.springframework.cache.annotation.CacheEvict} annotation applied to this method).
+     * The category and the new parent's ancestor path are locked first, and the previous parent and the cycle check
+     * are read from the database under those locks, so two concurrent moves cannot make categories each other's ancestors.
+     * When the parent changes, the subtree is moved in the closure table and its product count is
+     * moved from the old ancestors to the new ones in the same transaction.
+     * The category is replaced in the in-memory snapshot just before commit, under the row lock. The "products" and "category_counts" caches are
+     * evicted because cached product searches and counts filter through the closure table a move rewrites.
      */
-    @CacheEvict(value = "categories", allEntries = true)
+    @CacheEvict(value = {"products", "category_counts"}, allEntries = true)
     public Category updateCategory(Category category) {
+        UUID categoryId = category.getCategoryId();
+        UUID parentId = category.getParentId();
+
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
+                Category current = categoryDao.lockForMove(conn, categoryId, parentId)
+                        .orElseThrow(() -> new CategoryNotFoundException(categoryId.toString()));
+                UUID previousParentId = current.getParentId();
+                boolean parentChanged = !Objects.equals(previousParentId, parentId);
+                if (parentChanged && parentId != null && categoryDao.isInSubtree(conn, categoryId, parentId))
+                    throw new InvalidCategoryParentException(categoryId.toString(), parentId.toString());
+
                 categoryDao.update(conn, category);
-                conn.commit();
-                return category;
+                if (parentChanged) moveSubtree(conn, category, previousParentId);
+                commitAndApply(conn, categories -> categories.with(category));
+            } catch (CategoryNotFoundException | InvalidCategoryParentException e) {
+                conn.rollback();
+                throw e;
             } catch (DaoException e) {
                 conn.rollback();
                 throw new CategoryUpdateException(category.getCategoryId().toString());
@@ -68,91 +116,96 @@ public class CategoryStore {
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
+        return category;
     }
 
     /**
-     * Load a category by id.
-     * <p>
-     * Uses {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findById(java.sql.Connection, java.util.UUID)}.
-     * The returned value is cached in the "categories" cache using Spring's cache abstraction
-     * (see the {@link org.springframework.cache.annotation.Cacheable} annotation applied to this method).
+     * Apply a snapshot change and commit while the transaction's row locks are still held.
+     * If the commit fails the snapshot is reloaded from the database, dropping the change.
      */
-    @Cacheable(value = "categories", key = "'category:' + #id")
-    public Optional<Category> getCategory(UUID id) {
-        try (Connection conn = dataSource.getConnection()) {
-            return categoryDao.findById(conn, id);
-        } catch (DaoException e) {
-            throw new CategoryRetrievalException(id.toString());
+    private void commitAndApply(Connection conn, UnaryOperator<CategorySnapshot> change) throws SQLException {
+        snapshot.updateAndGet(change);
+        try {
+            conn.commit();
         } catch (SQLException e) {
-            throw new DatabaseConnectionException(e);
+            reload();
+            throw e;
         }
     }
 
+    private void moveSubtree(Connection conn, Category category, UUID previousParentId) throws DaoException {
+        CategoryProductCounts counts = categoryDao.findSubtreeProductCounts(conn, category.getCategoryId());
+        if (previousParentId != null)
+            categoryDao.adjustSubtreeProductCounts(conn, previousParentId, -counts.getProductCount(), -counts.getInStockCount());
+        categoryDao.moveSubtree(conn, category.getCategoryId(), category.getParentId());
+        if (category.getParentId() != null)
+            categoryDao.adjustSubtreeProductCounts(conn, category.getParentId(), counts.getProductCount(), counts.getInStockCount());
+    }
+
     /**
-     * Load a category by name.
+     * Load the precomputed subtree product counts of every category with a single query.
      * <p>
-     * Uses {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findByName(java.sql.Connection, String)}.
-     * The returned value is cached in the "categories" cache using Spring's cache abstraction
-     * (see the {@link org.springframework.cache.annotation.Cacheable} annotation applied to this method).
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findAllProductCounts(java.sql.Connection)}.
+     * The result is cached in the "category_counts" cache, which product writes and stock changes evict.
      */
-    @Cacheable(value = "categories", key = "'name:' + #name")
-    public Optional<Category> getCategoryByName(String name) {
+    @Cacheable(value = "category_counts", key = "'all'")
+    public Map<UUID, CategoryProductCounts> getProductCounts() {
         try (Connection conn = dataSource.getConnection()) {
-            return categoryDao.findByName(conn, name);
+            return categoryDao.findAllProductCounts(conn);
         } catch (DaoException e) {
-            throw new CategoryRetrievalException(name);
+            throw new CategoryRetrievalException("counts");
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
     }
 
     /**
-     * Search categories by name with simple paging.
-     * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#searchByName(java.sql.Connection, String, int, int)}.
-     * Results are cached in the "categories" cache using Spring Cache (@Cacheable) keyed by the search parameters.
+     * Whether {@code categoryId} is {@code rootId} itself or one of its descendants, answered from the in-memory snapshot.
+     */
+    public boolean isInSubtree(UUID rootId, UUID categoryId) {
+        return snapshot.get().isInSubtree(rootId, categoryId);
+    }
+
+    /**
+     * Load a category by id from the in-memory snapshot.
+     */
+    public Optional<Category> getCategory(UUID id) {
+        return snapshot.get().findById(id);
+    }
+
+    /**
+     * Load a category by name, ignoring case, from the in-memory snapshot.
+     */
+    public Optional<Category> getCategoryByName(String name) {
+        return snapshot.get().findByName(name);
+    }
+
+    /**
+     * Search categories by name with simple paging, served from the in-memory snapshot.
      */
-    @Cacheable(value = "categories", key = "'search:' + #query + ':' + #limit + ':' + #offset")
     public List<Category> searchByName(String query, int limit, int offset) {
-        try (Connection conn = dataSource.getConnection()) {
-            return categoryDao.searchByName(conn, query, limit, offset);
-        } catch (DaoException e) {
-            throw new CategorySearchException("Failed to search categories");
-        } catch (SQLException e) {
-            throw new DatabaseConnectionException(e);
-        }
+        return snapshot.get().searchByName(query, limit, offset);
     }
 
     /**
-     * Retrieve a page of all categories.
-     * <p>
-     * Results are loaded via {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findAll(java.sql.Connection, int, int)}.
-     * The returned page is cached in the "categories" cache using Spring Cache (@Cacheable).
+     * Retrieve a page of all categories ordered by name, served from the in-memory snapshot.
      */
-    @Cacheable(value = "categories", key = "'all:' + #limit + ':' + #offset")
     public List<Category> findAll(int limit, int offset) {
-        try (Connection conn = dataSource.getConnection()) {
-            return categoryDao.findAll(conn, limit, offset);
-        } catch (DaoException e) {
-            throw new CategoryRetrievalException("all");
-        } catch (SQLException e) {
-            throw new DatabaseConnectionException(e);
-        }
+        return snapshot.get().findAll(limit, offset);
     }
 
     /**
      * Delete a category by id inside a transaction.
      * <p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#delete(java.sql.Connection, java.util.UUID)}.
-     * On success this method evicts relevant entries in the "categories" cache via Spring Cache.
+     * The category is removed from the in-memory snapshot just before commit, while the deleted row is still locked.
      */
-    @CacheEvict(value = "categories", allEntries = true)
     public void deleteCategory(UUID id) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 categoryDao.delete(conn, id);
-                conn.commit();
+                commitAndApply(conn, categories -> categories.without(id));
             } catch (CategoryDeletionException e) {
                 try { conn.rollback(); } catch (SQLException ignore) {}
                 throw e;
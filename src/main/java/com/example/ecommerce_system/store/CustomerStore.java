@@ -3,7 +3,9 @@ package com.example.ecommerce_system.store;
 import com.example.ecommerce_system.dao.interfaces.CustomerDao;
 import com.example.ecommerce_system.exception.customer.*;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.CustomerSummary;
 import com.example.ecommerce_system.exception.*;
+import com.example.ecommerce_system.util.KeysetCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
@@ -26,9 +28,9 @@ public class CustomerStore {
      * Update an existing {@link com.example.ecommerce_system.model.Customer} inside a transaction.
      * <p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#update(java.sql.Connection, com.example.ecommerce_system.model.Customer)}.
-     * On success this method evicts relevant entries in the "customers" cache via Spring Cache.
+     * On success this method evicts the "customers" cache and the "reviews" cache, whose entries embed customer data.
      */
-    @CacheEvict(value = "customers", allEntries = true)
+    @CacheEvict(value = {"customers", "reviews"}, allEntries = true)
     public Customer updateCustomer(Customer customer) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
@@ -62,6 +64,23 @@ public class CustomerStore {
         }
     }
 
+    /**
+     * Retrieve the lifetime activity summary of a customer.
+     * <p>
+     * Uses {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#findSummary(java.sql.Connection, java.util.UUID)}.
+     * The returned value is cached in the short-TTL "customer_summaries" cache rather than evicted on every related write.
+     */
+    @Cacheable(value = "customer_summaries", key = "#customerId")
+    public Optional<CustomerSummary> getCustomerSummary(UUID customerId) {
+        try (Connection conn = dataSource.getConnection()) {
+            return this.customerDao.findSummary(conn, customerId);
+        } catch (DaoException e) {
+            throw new CustomerRetrievalException(customerId.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
     /**
      * Retrieve a customer by user id.</p>
      * Uses {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#findById(java.sql.Connection, java.util.UUID)}.
@@ -79,15 +98,15 @@ public class CustomerStore {
     }
 
     /**
-     * Retrieve all customers with pagination.
+     * Retrieve a page of customers, newest first, starting after the given cursor.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#findAll(java.sql.Connection, int, int)}.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#findAll(java.sql.Connection, KeysetCursor, int)}.
      * Results are cached in the "customers" cache using Spring Cache.
      */
-    @Cacheable(value = "customers", key = "'all:' + #limit + ':' + #offset")
-    public List<Customer> getAllCustomers(int limit, int offset) {
+    @Cacheable(value = "customers", key = "'all:' + #after + ':' + #limit")
+    public List<Customer> getAllCustomers(KeysetCursor after, int limit) {
         try (Connection conn = dataSource.getConnection()) {
-            return this.customerDao.findAll(conn, limit, offset);
+            return this.customerDao.findAll(conn, after, limit);
         } catch (DaoException e) {
             throw new CustomerRetrievalException("all");
         } catch (SQLException e) {
@@ -96,7 +115,7 @@ public class CustomerStore {
     }
 
     /**
-     * Search customers by query string matching first name, last name, or email.
+     * Search customers by query string matching first name, last name, or email, most relevant first.
      * <p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#search(java.sql.Connection, String, int, int)}.
      * Results are cached in the "customers" cache using Spring Cache.
@@ -111,4 +130,21 @@ public class CustomerStore {
             throw new DatabaseConnectionException(e);
         }
     }
+
+    /**
+     * Find customers whose first name, last name, or email starts with the given prefix.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.CustomerDao#autocomplete(java.sql.Connection, String, int)}.
+     * Results are cached in the "customers" cache using Spring Cache.
+     */
+    @Cacheable(value = "customers", key = "'autocomplete:' + #prefix.toLowerCase() + ':' + #limit")
+    public List<Customer> autocompleteCustomers(String prefix, int limit) {
+        try (Connection conn = dataSource.getConnection()) {
+            return this.customerDao.autocomplete(conn, prefix, limit);
+        } catch (DaoException e) {
+            throw new CustomerSearchException(prefix);
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
 }
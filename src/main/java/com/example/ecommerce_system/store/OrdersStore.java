@@ -1,24 +1,34 @@
 package com.example.ecommerce_system.store;
 
+import com.example.ecommerce_system.dao.interfaces.CartDao;
 import com.example.ecommerce_system.dao.interfaces.OrderItemDao;
 import com.example.ecommerce_system.dao.interfaces.OrdersDao;
+import com.example.ecommerce_system.dao.interfaces.ProductDao;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.exception.DatabaseConnectionException;
+import com.example.ecommerce_system.exception.cart.EmptyCartException;
+import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.exception.order.OrderCreationException;
 import com.example.ecommerce_system.exception.order.OrderRetrievalException;
 import com.example.ecommerce_system.exception.order.OrderUpdateException;
 import com.example.ecommerce_system.exception.orderitem.OrderItemRetrievalException;
+import com.example.ecommerce_system.exception.product.InsufficientProductStock;
+import com.example.ecommerce_system.model.CartLine;
+import com.example.ecommerce_system.model.CheckoutResult;
 import com.example.ecommerce_system.model.OrderItem;
 import com.example.ecommerce_system.model.Orders;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,10 +38,14 @@ public class OrdersStore {
     private final DataSource dataSource;
     private final OrdersDao ordersDao;
     private final OrderItemDao orderItemDao;
+    private final CartDao cartDao;
+    private final ProductDao productDao;
 
     /**
      * Persist a new {@link com.example.ecommerce_system.model.Orders} inside a transaction.</p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.OrdersDao#save(java.sql.Connection, com.example.ecommerce_system.model.Orders)}.
+     * A customer deleted since its access token was issued fails the customer foreign key and rolls back with
+     * {@link CustomerNotFoundException}.
      * On success this method evicts relevant entries in the "orders" cache via Spring Cache.
      */
     @CacheEvict(value = {"orders", "order_items"}, allEntries = true)
@@ -43,6 +57,9 @@ public class OrdersStore {
                 this.orderItemDao.saveBatch(conn, items);
                 conn.commit();
                 return order;
+            } catch (CustomerNotFoundException e) {
+                conn.rollback();
+                throw e;
             } catch (DaoException e) {
                 conn.rollback();
                 throw new OrderCreationException(order.getOrderId().toString());
@@ -52,6 +69,79 @@ public class OrdersStore {
         }
     }
 
+    /**
+     * Convert a customer's cart into an order inside a single transaction.</p>
+     * Reads the cart lines with current prices via {@link CartDao#findLinesForCheckout(java.sql.Connection, java.util.UUID)},
+     * validates stock in one statement via {@link ProductDao#findInsufficientStock(java.sql.Connection, java.util.Map)},
+     * saves the order and its items with {@link OrderItemDao#saveBatch(java.sql.Connection, java.util.List)} and
+     * removes the checked out items from the cart.
+     * The given order supplies the header; its total is computed from the cart lines.
+     * A customer deleted since its access token was issued rolls back with {@link CustomerNotFoundException}.
+     *
+     * @return the saved order, including its total, and its items
+     */
+    @Caching(evict = {
+            @CacheEvict(value = {"orders", "order_items"}, allEntries = true),
+            @CacheEvict(value = "carts", key = "'customer:' + #order.customerId")
+    })
+    public CheckoutResult checkoutCart(Orders order) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<CartLine> lines = this.cartDao.findLinesForCheckout(conn, order.getCustomerId());
+                if (lines.isEmpty()) throw new EmptyCartException(order.getCustomerId().toString());
+
+                checkStock(conn, lines);
+
+                List<OrderItem> items = lines.stream()
+                        .map(line -> OrderItem.builder()
+                                .orderItemId(UUID.randomUUID())
+                                .orderId(order.getOrderId())
+                                .productId(line.getProductId())
+                                .quantity(line.getQuantity())
+                                .priceAtPurchase(line.getPrice())
+                                .build())
+                        .toList();
+
+                Orders saved = withTotal(order, items);
+                this.ordersDao.save(conn, saved);
+                this.orderItemDao.saveBatch(conn, items);
+                this.cartDao.deleteItemsBatch(conn, lines.stream().map(CartLine::getCartItemId).toList());
+                conn.commit();
+                return new CheckoutResult(saved, items);
+            } catch (EmptyCartException | InsufficientProductStock | CustomerNotFoundException e) {
+                conn.rollback();
+                throw e;
+            } catch (DaoException e) {
+                conn.rollback();
+                throw new OrderCreationException(order.getOrderId().toString());
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    private void checkStock(Connection conn, List<CartLine> lines) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach(line -> quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+
+        List<UUID> insufficient = this.productDao.findInsufficientStock(conn, quantities);
+        if (!insufficient.isEmpty()) throw new InsufficientProductStock(insufficient.get(0).toString());
+    }
+
+    private Orders withTotal(Orders order, List<OrderItem> items) {
+        return Orders.builder()
+                .orderId(order.getOrderId())
+                .customerId(order.getCustomerId())
+                .status(order.getStatus())
+                .orderDate(order.getOrderDate())
+                .totalAmount(OrderItem.totalOf(items))
+                .shippingCountry(order.getShippingCountry())
+                .shippingCity(order.getShippingCity())
+                .shippingPostalCode(order.getShippingPostalCode())
+                .build();
+    }
+
     /**
      * Update an existing {@link com.example.ecommerce_system.model.Orders} inside a transaction.</p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.OrdersDao#update(java.sql.Connection, com.example.ecommerce_system.model.Orders)}.
@@ -65,6 +155,9 @@ public class OrdersStore {
                 this.ordersDao.update(conn, order);
                 conn.commit();
                 return order;
+            } catch (CustomerNotFoundException e) {
+                conn.rollback();
+                throw e;
             } catch (DaoException e) {
                 conn.rollback();
                 throw new OrderUpdateException(order.getOrderId().toString());
@@ -1,5 +1,6 @@
 package com.example.ecommerce_system.store;
 
+import com.example.ecommerce_system.dao.interfaces.CategoryDao;
 import com.example.ecommerce_system.dao.interfaces.ProductDao;
 import com.example.ecommerce_system.exception.product.*;
 import com.example.ecommerce_system.model.Product;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,19 +24,22 @@ import java.util.UUID;
 public class ProductStore {
     private final DataSource dataSource;
     private final ProductDao productDao;
+    private final CategoryDao categoryDao;
 
     /**
      * Persist a new {@link com.example.ecommerce_system.model.Product} inside a transaction.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#save(java.sql.Connection, com.example.ecommerce_system.model.Product)}.
-     * On success this method evicts relevant entries in the "products" cache via Spring Cache.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#save(java.sql.Connection, com.example.ecommerce_system.model.Product)}
+     * and increments the product counts of the category and its ancestors in the same transaction.
+     * On success this method evicts relevant entries in the "products" and "category_counts" caches via Spring Cache.
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "category_counts"}, allEntries = true)
     public Product createProduct(Product product) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 this.productDao.save(conn, product);
+                adjustCategoryCounts(conn, null, product);
                 conn.commit();
                 return product;
             } catch (DaoException e) {
@@ -51,14 +56,18 @@ public class ProductStore {
      * Update an existing {@link com.example.ecommerce_system.model.Product} inside a transaction.
      * <p>
      * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#update(java.sql.Connection, com.example.ecommerce_system.model.Product)}.
-     * On success this method evicts relevant entries in the "products" cache via Spring Cache.
+     * When the product changes category or runs out of / comes back into stock, the category product counts are
+     * adjusted in the same transaction.
+     * On success this method evicts the "products" and "category_counts" caches and the cached carts holding product snapshots.
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "carts", "category_counts"}, allEntries = true)
     public Product updateProduct(Product product) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
+                Optional<Product> previous = this.productDao.findByIdForUpdate(conn, product.getProductId());
                 this.productDao.update(conn, product);
+                if (previous.isPresent()) adjustCategoryCounts(conn, previous.get(), product);
                 conn.commit();
                 return product;
             } catch (DaoException e) {
@@ -73,15 +82,18 @@ public class ProductStore {
     /**
      * Delete a product by id inside a transaction.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#deleteById(java.sql.Connection, java.util.UUID)}.
-     * On success this method evicts relevant entries in the "products" cache via Spring Cache.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#deleteById(java.sql.Connection, java.util.UUID)}
+     * and decrements the product counts of its category and their ancestors in the same transaction.
+     * On success this method evicts the "products" and "category_counts" caches and the cached carts holding product snapshots.
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "carts", "category_counts"}, allEntries = true)
     public void deleteProduct(UUID productId) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
+                Optional<Product> previous = this.productDao.findByIdForUpdate(conn, productId);
                 this.productDao.deleteById(conn, productId);
+                if (previous.isPresent()) adjustCategoryCounts(conn, previous.get(), null);
                 conn.commit();
             } catch (DaoException e) {
                 conn.rollback();
@@ -92,6 +104,27 @@ public class ProductStore {
         }
     }
 
+    /**
+     * Move a product's contribution to the precomputed category product counts from its previous state to its new one.
+     * Either side is {@code null} when the product is being created or deleted.
+     */
+    private void adjustCategoryCounts(Connection conn, Product previous, Product current) throws DaoException {
+        if (previous != null && current != null && previous.getCategoryId().equals(current.getCategoryId())) {
+            int inStockDelta = inStock(current.getStockQuantity()) - inStock(previous.getStockQuantity());
+            if (inStockDelta != 0)
+                this.categoryDao.adjustSubtreeProductCounts(conn, current.getCategoryId(), 0, inStockDelta);
+            return;
+        }
+        if (previous != null)
+            this.categoryDao.adjustSubtreeProductCounts(conn, previous.getCategoryId(), -1, -inStock(previous.getStockQuantity()));
+        if (current != null)
+            this.categoryDao.adjustSubtreeProductCounts(conn, current.getCategoryId(), 1, inStock(current.getStockQuantity()));
+    }
+
+    private static int inStock(int stockQuantity) {
+        return stockQuantity > 0 ? 1 : 0;
+    }
+
     /**
      * Load a product by id.
      * <p>
@@ -109,6 +142,22 @@ public class ProductStore {
         }
     }
 
+    /**
+     * Load all products whose ids are in the given collection with a single query.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#findByIds(java.sql.Connection, java.util.Collection)}.
+     * Not cached, since every call asks for a different set of ids.
+     */
+    public List<Product> getProductsByIds(Collection<UUID> productIds) {
+        try (Connection conn = dataSource.getConnection()) {
+            return this.productDao.findByIds(conn, productIds);
+        } catch (DaoException e) {
+            throw new ProductRetrievalException(productIds.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
     /**
      * Retrieve all products with pagination.
      * <p>
@@ -146,12 +195,16 @@ public class ProductStore {
     /**
      * Count products matching a filter.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#countFiltered(java.sql.Connection, ProductFilter)}.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.ProductDao#countFiltered(java.sql.Connection, ProductFilter)},
+     * except for a category-only filter, whose precomputed subtree count is read via
+     * {@link com.example.ecommerce_system.dao.interfaces.CategoryDao#findSubtreeProductCounts(java.sql.Connection, java.util.UUID)}.
      * Results are cached in the "products" cache using Spring Cache.
      */
     @Cacheable(value = "products", key = "'count:' + #filter.hashCode()")
     public int countProductsByFilter(ProductFilter filter) {
         try (Connection conn = dataSource.getConnection()) {
+            boolean categoryOnly = filter.hasCategoryId() && (!filter.hasName() || filter.getName().isBlank());
+            if (categoryOnly) return this.categoryDao.findSubtreeProductCounts(conn, filter.getCategoryId()).getProductCount();
             return this.productDao.countFiltered(conn, filter);
         } catch (DaoException e) {
             throw new ProductSearchException("Failed to count search results with filter");
@@ -162,8 +215,9 @@ public class ProductStore {
 
     /**
      * Update stock for multiple products inside a transaction.
+     * Products that run out of or come back into stock adjust the category in-stock counts in the same transaction.
      */
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "carts", "category_counts"}, allEntries = true)
     public void updateProductStocks(List<UUID> productIds, List<Integer> stockChanges) {
         if (productIds.size() != stockChanges.size()) {
             throw new IllegalArgumentException("Product IDs and stock changes must have the same size");
@@ -175,7 +229,12 @@ public class ProductStore {
                 for (int i = 0; i < productIds.size(); i++) {
                     UUID productId = productIds.get(i);
                     int newStock = stockChanges.get(i);
+                    Optional<Product> previous = this.productDao.findByIdForUpdate(conn, productId);
                     this.productDao.updateStock(conn, productId, newStock);
+                    int inStockDelta = previous.isEmpty() ? 0
+                            : inStock(newStock) - inStock(previous.get().getStockQuantity());
+                    if (inStockDelta != 0)
+                        this.categoryDao.adjustSubtreeProductCounts(conn, previous.get().getCategoryId(), 0, inStockDelta);
                 }
                 conn.commit();
             } catch (DaoException e) {
@@ -1,22 +1,25 @@
 package com.example.ecommerce_system.store;
 
 import com.example.ecommerce_system.dao.interfaces.ReviewDao;
-import com.example.ecommerce_system.dao.interfaces.ProductDao;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
 import com.example.ecommerce_system.exception.review.ReviewRetrievalException;
-import com.example.ecommerce_system.model.Product;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.exception.DatabaseConnectionException;
 import com.example.ecommerce_system.exception.review.ReviewCreationException;
+import com.example.ecommerce_system.model.ProductRatingStats;
 import com.example.ecommerce_system.model.Review;
+import com.example.ecommerce_system.util.KeysetCursor;
 import lombok.AllArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -26,16 +29,22 @@ public class ReviewStore {
     private final ReviewDao reviewDao;
 
     /**
-     * Persist a new {@link Product} inside a transaction.</p>
-     * Delegates to {@link ProductDao#save(java.sql.Connection, com.example.ecommerce_system.model.Product)}.
-     * On success this method evicts relevant entries in the "products" cache via Spring Cache.
+     * Persist a new {@link Review} inside a transaction.</p>
+     * Delegates to {@link ReviewDao#save(java.sql.Connection, com.example.ecommerce_system.model.Review)} and
+     * updates the product's rating statistics via {@link ReviewDao#incrementRatingStats(java.sql.Connection, java.util.UUID, int)}
+     * in the same transaction.
+     * On success this method evicts the "reviews" cache and the product's entry in the "rating_stats" cache via Spring Cache.
      */
-    @CacheEvict(value = "reviews", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "reviews", allEntries = true),
+            @CacheEvict(value = "rating_stats", key = "#review.productId")
+    })
     public Review createReview(Review review) {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
                 this.reviewDao.save(conn, review);
+                this.reviewDao.incrementRatingStats(conn, review.getProductId(), review.getRating());
                 conn.commit();
                 return review;
             } catch (DaoException e) {
@@ -48,17 +57,83 @@ public class ReviewStore {
     }
 
     /**
-     * Load a page of reviews for the given product id.</p>
-     * Results are loaded via {@link ReviewDao#findByProduct(java.sql.Connection, java.util.UUID, int, int)}
+     * Load a page of reviews for the given product id, starting after the given cursor.</p>
+     * Results are loaded via {@link ReviewDao#findByProduct(java.sql.Connection, java.util.UUID, KeysetCursor, int)}
      */
-    @Cacheable(value = "reviews", key = "'product:' + #productId + ':' + #limit + ':' + #offset")
-    public List<Review> getReviewsByProduct(UUID productId, int limit, int offset) {
+    @Cacheable(value = "reviews", key = "'product:' + #productId + ':' + #after + ':' + #limit")
+    public List<Review> getReviewsByProduct(UUID productId, KeysetCursor after, int limit) {
         try (Connection conn = dataSource.getConnection()) {
-            return this.reviewDao.findByProduct(conn, productId, limit, offset);
+            return this.reviewDao.findByProduct(conn, productId, after, limit);
         } catch (DaoException e) {
             throw new ReviewRetrievalException(productId.toString());
         } catch (SQLException e) {
             throw new DatabaseConnectionException(e);
         }
     }
+
+    /**
+     * Search reviews matching a {@link ReviewFilter}, starting after the given cursor.</p>
+     * Results are loaded via {@link ReviewDao#search(java.sql.Connection, ReviewFilter, KeysetCursor, int)}
+     */
+    @Cacheable(value = "reviews", key = "'search:' + #filter + ':' + #after + ':' + #limit")
+    public List<Review> searchReviews(ReviewFilter filter, KeysetCursor after, int limit) {
+        try (Connection conn = dataSource.getConnection()) {
+            return this.reviewDao.search(conn, filter, after, limit);
+        } catch (DaoException e) {
+            throw new ReviewRetrievalException(filter.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Load the latest {@code perProduct} reviews for each product of a page in a single query.</p>
+     * Results are loaded via {@link ReviewDao#findTopByProducts(java.sql.Connection, java.util.Collection, int)}
+     */
+    @Cacheable(value = "reviews", key = "'top:' + #productIds + ':' + #perProduct")
+    public Map<UUID, List<Review>> getTopReviewsByProducts(List<UUID> productIds, int perProduct) {
+        if (productIds.isEmpty()) return Map.of();
+
+        try (Connection conn = dataSource.getConnection()) {
+            return this.reviewDao.findTopByProducts(conn, productIds, perProduct);
+        } catch (DaoException e) {
+            throw new ReviewRetrievalException(productIds.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Load the rating statistics of a product, {@link ProductRatingStats#EMPTY} when it has no reviews.</p>
+     * Results are loaded via {@link ReviewDao#findRatingStats(java.sql.Connection, java.util.Collection)}
+     * and cached per product in the "rating_stats" cache, so a new review only evicts its own product's entry.
+     */
+    @Cacheable(value = "rating_stats", key = "#productId")
+    public ProductRatingStats getRatingStats(UUID productId) {
+        try (Connection conn = dataSource.getConnection()) {
+            return this.reviewDao.findRatingStats(conn, List.of(productId))
+                    .getOrDefault(productId, ProductRatingStats.EMPTY);
+        } catch (DaoException e) {
+            throw new ReviewRetrievalException(productId.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Load the rating statistics of every product of a page in a single query.</p>
+     * Results are loaded via {@link ReviewDao#findRatingStats(java.sql.Connection, java.util.Collection)}.
+     * Products without reviews are absent from the returned map.
+     */
+    public Map<UUID, ProductRatingStats> getRatingStatsByProducts(List<UUID> productIds) {
+        if (productIds.isEmpty()) return Map.of();
+
+        try (Connection conn = dataSource.getConnection()) {
+            return this.reviewDao.findRatingStats(conn, productIds);
+        } catch (DaoException e) {
+            throw new ReviewRetrievalException(productIds.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
 }
@@ -0,0 +1,168 @@
+package com.example.ecommerce_system.store;
+
+import com.example.ecommerce_system.dao.interfaces.TokenDao;
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.exception.DatabaseConnectionException;
+import com.example.ecommerce_system.exception.auth.InvalidRefreshTokenException;
+import com.example.ecommerce_system.exception.auth.TokenUpdateException;
+import com.example.ecommerce_system.model.RefreshToken;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Refresh tokens live in the database; revoked access tokens are mirrored in memory.
+ * <p>
+ * The revocation set only holds ids of access tokens that were revoked before they expired, so it stays small
+ * while access tokens are short-lived. Revocations made by this instance are visible immediately, and the whole
+ * set is reloaded from the database periodically to pick up revocations made elsewhere.
+ */
+@RequiredArgsConstructor
+@Repository
+public class TokenStore {
+    private final DataSource dataSource;
+    private final TokenDao tokenDao;
+    private final AtomicReference<ConcurrentMap<UUID, Instant>> revokedAccessTokens =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+
+    /**
+     * Persist a newly issued refresh token.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.TokenDao#saveRefreshToken(java.sql.Connection, com.example.ecommerce_system.model.RefreshToken)}.
+     */
+    public void saveRefreshToken(RefreshToken token) {
+        try (Connection conn = dataSource.getConnection()) {
+            tokenDao.saveRefreshToken(conn, token);
+        } catch (DaoException e) {
+            throw new TokenUpdateException("save refresh token");
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Exchange an active refresh token for a new one within a transaction.
+     * <p>
+     * Locks the current token via {@link com.example.ecommerce_system.dao.interfaces.TokenDao#findRefreshTokenByHashForUpdate(java.sql.Connection, String)},
+     * revokes it and stores the replacement for the same user. Concurrent refreshes with the same token
+     * therefore succeed at most once.
+     *
+     * @return the stored replacement
+     * @throws InvalidRefreshTokenException when the token is unknown, expired or already revoked
+     */
+    public RefreshToken rotateRefreshToken(String tokenHash, RefreshToken.RefreshTokenBuilder replacement) {
+        Instant now = Instant.now();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                RefreshToken current = tokenDao.findRefreshTokenByHashForUpdate(conn, tokenHash)
+                        .filter(token -> token.isActive(now))
+                        .orElse(null);
+                if (current == null) {
+                    conn.rollback();
+                    throw new InvalidRefreshTokenException();
+                }
+
+                RefreshToken next = replacement.userId(current.getUserId()).build();
+                tokenDao.revokeRefreshToken(conn, current.getTokenId(), now);
+                tokenDao.saveRefreshToken(conn, next);
+                conn.commit();
+                return next;
+            } catch (DaoException e) {
+                conn.rollback();
+                throw new TokenUpdateException("refresh token");
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Revoke a refresh token together with the access token issued alongside it.
+     * Unknown or already revoked tokens are ignored.
+     *
+     * @param accessTokenExpiresAt latest time at which the paired access token could still be accepted
+     */
+    public void revokeRefreshToken(String tokenHash, Instant accessTokenExpiresAt) {
+        Instant now = Instant.now();
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                RefreshToken current = tokenDao.findRefreshTokenByHashForUpdate(conn, tokenHash)
+                        .filter(token -> token.getRevokedAt() == null)
+                        .orElse(null);
+                if (current == null) {
+                    conn.rollback();
+                    return;
+                }
+
+                tokenDao.revokeRefreshToken(conn, current.getTokenId(), now);
+                tokenDao.saveRevokedAccessToken(conn, current.getAccessTokenId(), accessTokenExpiresAt);
+                conn.commit();
+                revokedAccessTokens.get().put(current.getAccessTokenId(), accessTokenExpiresAt);
+            } catch (DaoException e) {
+                conn.rollback();
+                throw new TokenUpdateException("revoke refresh token");
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
+    /**
+     * Constant-time check against the in-memory revocation set.
+     */
+    public boolean isAccessTokenRevoked(UUID tokenId) {
+        Instant expiresAt = revokedAccessTokens.get().get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Replace the in-memory revocation set with the active revocations stored in the database.
+     * Local revocations that are not yet expired are carried over.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.TokenDao#findActiveRevokedAccessTokens(java.sql.Connection, java.time.Instant)}.
+     */
+    @PostConstruct
+    public void reloadRevocations() {
+        Instant now = Instant.now();
+        Map<UUID, Instant> stored;
+        try (Connection conn = dataSource.getConnection()) {
+            stored = tokenDao.findActiveRevokedAccessTokens(conn, now);
+        } catch (DaoException e) {
+            throw new TokenUpdateException("load revoked access tokens");
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+
+        ConcurrentMap<UUID, Instant> previous = revokedAccessTokens.getAndSet(new ConcurrentHashMap<>(stored));
+        previous.forEach((tokenId, expiresAt) -> {
+            if (expiresAt.isAfter(now)) revokedAccessTokens.get().putIfAbsent(tokenId, expiresAt);
+        });
+    }
+
+    /**
+     * Delete expired refresh tokens and revocation records.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.TokenDao#deleteExpired(java.sql.Connection, java.time.Instant)}.
+     */
+    public int purgeExpired() {
+        try (Connection conn = dataSource.getConnection()) {
+            return tokenDao.deleteExpired(conn, Instant.now());
+        } catch (DaoException e) {
+            throw new TokenUpdateException("purge expired tokens");
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+}
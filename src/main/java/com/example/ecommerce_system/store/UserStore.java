@@ -1,14 +1,17 @@
 package com.example.ecommerce_system.store;
 
-import com.example.ecommerce_system.dao.interfaces.CustomerDao;
 import com.example.ecommerce_system.dao.interfaces.UserDao;
 import com.example.ecommerce_system.exception.DaoException;
 import com.example.ecommerce_system.exception.DatabaseConnectionException;
+import com.example.ecommerce_system.exception.auth.DuplicateEmailException;
 import com.example.ecommerce_system.exception.user.UserCreationException;
 import com.example.ecommerce_system.exception.user.UserRetrievalException;
 import com.example.ecommerce_system.model.Customer;
 import com.example.ecommerce_system.model.User;
-import lombok.AllArgsConstructor;
+import com.example.ecommerce_system.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -19,18 +22,55 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Optional;
+import java.util.UUID;
 
-@AllArgsConstructor
+/**
+ * Users are written with a single conflict-aware insert that relies on the unique email constraint.
+ * A Bloom filter of registered emails, loaded at startup and extended on every signup, lets most
+ * availability checks answer "not registered" without touching the database.
+ */
+@RequiredArgsConstructor
 @Repository
 public class UserStore {
     private final DataSource dataSource;
     private final UserDao userDao;
-    private final CustomerDao customerDao;
+
+    @Value("${auth.email-filter.expected-insertions:1000000}")
+    private long expectedEmails;
+
+    @Value("${auth.email-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    private BloomFilter registeredEmails;
+
+    /**
+     * Load every registered email into the Bloom filter.
+     * <p>
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.UserDao#forEachEmail(java.sql.Connection, java.util.function.Consumer)}.
+     */
+    @PostConstruct
+    public void loadRegisteredEmails() {
+        BloomFilter filter = BloomFilter.create(expectedEmails, falsePositiveProbability);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                userDao.forEachEmail(conn, filter::add);
+                conn.commit();
+            } catch (DaoException e) {
+                conn.rollback();
+                throw new UserRetrievalException("all");
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+        registeredEmails = filter;
+    }
 
     /**
-     * Persist a new {@link com.example.ecommerce_system.model.User} within a transaction.
+     * Persist a new {@link com.example.ecommerce_system.model.User} and its customer profile in one statement.
      * <p>
-     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.UserDao#save(java.sql.Connection, com.example.ecommerce_system.model.User)}.
+     * Delegates to {@link com.example.ecommerce_system.dao.interfaces.UserDao#save(java.sql.Connection, com.example.ecommerce_system.model.User, com.example.ecommerce_system.model.Customer)}
+     * and throws {@link DuplicateEmailException} when the unique email constraint reports a conflict.
      */
     @Caching(
         put = {
@@ -42,9 +82,10 @@ public class UserStore {
         try (Connection conn = dataSource.getConnection()) {
             conn.setAutoCommit(false);
             try {
-                userDao.save(conn, user);
-                customerDao.save(conn, user.getUserId(), customer);
+                boolean created = userDao.save(conn, user, customer);
                 conn.commit();
+                registeredEmails.add(user.getEmail());
+                if (!created) throw new DuplicateEmailException(user.getEmail());
                 return user;
             } catch (DaoException e) {
                 conn.rollback();
@@ -55,6 +96,24 @@ public class UserStore {
         }
     }
 
+    /**
+     * Check whether an email is already registered.
+     * <p>
+     * Answers from the Bloom filter when it rules the email out, and only falls back to
+     * {@link com.example.ecommerce_system.dao.interfaces.UserDao#findByEmail(java.sql.Connection, String)} on a possible match.
+     */
+    public boolean isEmailRegistered(String email) {
+        if (!registeredEmails.mightContain(email)) return false;
+
+        try (Connection conn = dataSource.getConnection()) {
+            return userDao.findByEmail(conn, email).isPresent();
+        } catch (DaoException e) {
+            throw new UserRetrievalException(email);
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
+
     /**
      * Load a user by email.
      * <p>
@@ -72,4 +131,21 @@ public class UserStore {
             throw new DatabaseConnectionException(e);
         }
     }
+
+    /**
+     * Load a user by id.
+     * <p>
+     * Uses {@link com.example.ecommerce_system.dao.interfaces.UserDao#findById(java.sql.Connection, java.util.UUID)}
+     * and caches the result in the "users" cache.
+     */
+    @Cacheable(value = "users", key = "'id:' + #userId")
+    public Optional<User> getUserById(UUID userId) {
+        try (Connection conn = dataSource.getConnection()) {
+            return userDao.findById(conn, userId);
+        } catch (DaoException e) {
+            throw new UserRetrievalException(userId.toString());
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException(e);
+        }
+    }
 }
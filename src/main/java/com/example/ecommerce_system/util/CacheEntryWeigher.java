@@ -0,0 +1,30 @@
+package com.example.ecommerce_system.util;
+
+import com.example.ecommerce_system.dto.CursorPageDto;
+import com.example.ecommerce_system.model.CartAggregate;
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Weighs cache entries by the number of rows they hold, so one order page of 50 rows
+ * counts fifty times as much as a single product. Single objects and empty results weigh 1.
+ */
+public class CacheEntryWeigher implements Weigher<Object, Object> {
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return Math.max(1, rows(value));
+    }
+
+    private int rows(Object value) {
+        if (value instanceof Collection<?> collection) return collection.size();
+        if (value instanceof Map<?, ?> map) return map.values().stream().mapToInt(this::rows).sum();
+        if (value instanceof CursorPageDto<?> page) return page.items().size();
+        if (value instanceof CartAggregate cart) return 1 + cart.getItems().size();
+        if (value instanceof Optional<?> optional) return optional.map(this::rows).orElse(1);
+        return 1;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.ecommerce_system.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed millisecond buckets.
+ * Percentiles are reported as the upper bound of the bucket that contains them.
+ */
+public class LatencyHistogram {
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_MS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < BOUNDS_MS.length && millis >= BOUNDS_MS[bucket]) bucket++;
+        buckets[bucket].increment();
+        totalNanos.add(nanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) count += bucket.sum();
+        return count;
+    }
+
+    public double averageMillis() {
+        long count = count();
+        return count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000;
+    }
+
+    /**
+     * Upper bound in milliseconds of the bucket holding the given percentile (0-100),
+     * or -1 when the value falls beyond the last bound.
+     */
+    public long percentileMillis(double percentile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+
+        long target = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return BOUNDS_MS[i];
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, avg=%.1fms, p50<=%dms, p95<=%dms, p99<=%dms",
+                count(), averageMillis(), percentileMillis(50), percentileMillis(95), percentileMillis(99));
+    }
+}
@@ -1,13 +0,0 @@
-package com.example.ecommerce_system.util;
-
-import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-
-public class RequestContextUtil {
-
-    public static String getUserId() {
-        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
-        return (String) request.getAttribute("userId");
-    }
-}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.ecommerce_system.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token-bucket rate limiter keyed by an arbitrary string.
+ * <p>
+ * Each key gets a bucket of {@code capacity} tokens refilled continuously at {@code capacity} per {@code period}.
+ * Buckets are updated under one of a fixed set of striped locks. Idle buckets are dropped once they would have
+ * refilled completely, which loses nothing. At most {@code maxKeys} buckets are kept, though: when more distinct keys
+ * are seen within one period, the least recently used buckets are evicted even if they are throttled, and those keys
+ * start over with a full bucket. {@code maxKeys} should therefore exceed the number of distinct keys expected per period.
+ */
+public class TokenBucketRateLimiter {
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final Cache<String, Bucket> buckets;
+    private final Object[] locks = new Object[STRIPES];
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(int capacity, Duration period, long maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of {@link System#nanoTime()}-style timestamps, used for refills and idle expiry
+     */
+    public TokenBucketRateLimiter(int capacity, Duration period, long maxKeys, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = capacity / (double) period.toNanos();
+        this.nanoClock = nanoClock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(period)
+                .ticker(nanoClock::getAsLong)
+                .build();
+        for (int i = 0; i < STRIPES; i++) locks[i] = new Object();
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 when the token was granted, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        synchronized (locks[(key.hashCode() & Integer.MAX_VALUE) % STRIPES]) {
+            Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * tokensPerNano);
+            bucket.refilledAt = now;
+
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - bucket.tokens) / tokensPerNano);
+        }
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
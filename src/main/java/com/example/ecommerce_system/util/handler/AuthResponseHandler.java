@@ -1,10 +1,14 @@
 package com.example.ecommerce_system.util.handler;
 
 import com.example.ecommerce_system.dto.ErrorResponseDto;
+import com.example.ecommerce_system.exception.auth.AuthCapacityExceededException;
 import com.example.ecommerce_system.exception.auth.DuplicateEmailException;
 import com.example.ecommerce_system.exception.auth.InvalidCredentialsException;
+import com.example.ecommerce_system.exception.auth.InvalidRefreshTokenException;
+import com.example.ecommerce_system.exception.auth.TooManyLoginAttemptsException;
 import com.example.ecommerce_system.exception.auth.UserNotFoundException;
 import com.example.ecommerce_system.exception.auth.WeakPasswordException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +33,14 @@ public class AuthResponseHandler {
                 exception.getClass().getSimpleName());
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleInvalidRefreshToken(InvalidRefreshTokenException exception) {
+        return ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.UNAUTHORIZED,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponseDto<String>> handleUserNotFound(UserNotFoundException exception) {
         return ErrorResponseHandler.generateErrorMessage(
@@ -44,4 +56,26 @@ public class AuthResponseHandler {
                 exception.getMessage(),
                 exception.getClass().getSimpleName());
     }
+
+    @ExceptionHandler(AuthCapacityExceededException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleAuthCapacityExceeded(AuthCapacityExceededException exception) {
+        ResponseEntity<ErrorResponseDto<String>> response = ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    @ExceptionHandler(TooManyLoginAttemptsException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleTooManyLoginAttempts(TooManyLoginAttemptsException exception) {
+        ResponseEntity<ErrorResponseDto<String>> response = ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.TOO_MANY_REQUESTS,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
 }
@@ -0,0 +1,38 @@
+package com.example.ecommerce_system.util.handler;
+
+import com.example.ecommerce_system.dto.ErrorResponseDto;
+import com.example.ecommerce_system.exception.cart.CartRetrievalException;
+import com.example.ecommerce_system.exception.cart.CartUpdateException;
+import com.example.ecommerce_system.exception.cart.EmptyCartException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class CartResponseHandler {
+
+    @ExceptionHandler(EmptyCartException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleEmptyCart(EmptyCartException exception) {
+        return ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.BAD_REQUEST,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+    }
+
+    @ExceptionHandler(CartRetrievalException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleCartRetrieval(CartRetrievalException exception) {
+        return ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+    }
+
+    @ExceptionHandler(CartUpdateException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleCartUpdate(CartUpdateException exception) {
+        return ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+    }
+}
@@ -4,6 +4,7 @@ import com.example.ecommerce_system.dto.ErrorResponseDto;
 import com.example.ecommerce_system.exception.category.CategoryNotFoundException;
 import com.example.ecommerce_system.exception.category.DuplicateCategoryException;
 import com.example.ecommerce_system.exception.category.CategoryDeletionException;
+import com.example.ecommerce_system.exception.category.InvalidCategoryParentException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -36,4 +37,12 @@ public class CategoryResponseHandler {
                 exception.getClass().getSimpleName());
     }
 
+    @ExceptionHandler(InvalidCategoryParentException.class)
+    public ResponseEntity<ErrorResponseDto<String>> handleInvalidCategoryParent(InvalidCategoryParentException exception) {
+        return ErrorResponseHandler.generateErrorMessage(
+                HttpStatus.BAD_REQUEST,
+                exception.getMessage(),
+                exception.getClass().getSimpleName());
+    }
+
 }
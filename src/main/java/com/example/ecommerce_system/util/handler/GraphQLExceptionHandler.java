@@ -1,5 +1,6 @@
 package com.example.ecommerce_system.util.handler;
 
+import com.example.ecommerce_system.exception.InvalidCursorException;
 import com.example.ecommerce_system.exception.cart.*;
 import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.exception.order.InvalidOrderStatusException;
@@ -28,6 +29,7 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
             Map.entry(InsufficientProductStock.class, ErrorType.BAD_REQUEST),
             Map.entry(InvalidOrderStatusException.class, ErrorType.BAD_REQUEST),
             Map.entry(IllegalArgumentException.class, ErrorType.BAD_REQUEST),
+            Map.entry(InvalidCursorException.class, ErrorType.BAD_REQUEST),
             Map.entry(OrderCreationException.class, ErrorType.INTERNAL_ERROR),
             Map.entry(OrderUpdateException.class, ErrorType.INTERNAL_ERROR),
             Map.entry(OrderRetrievalException.class, ErrorType.INTERNAL_ERROR),
@@ -36,7 +38,9 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
             Map.entry(CartItemAddException.class, ErrorType.INTERNAL_ERROR),
             Map.entry(CartItemRemoveException.class, ErrorType.INTERNAL_ERROR),
             Map.entry(CartItemAuthorizationException.class, ErrorType.UNAUTHORIZED),
-            Map.entry(CartItemNotFoundException.class, ErrorType.NOT_FOUND)
+            Map.entry(CartItemNotFoundException.class, ErrorType.NOT_FOUND),
+            Map.entry(CartUpdateException.class, ErrorType.INTERNAL_ERROR),
+            Map.entry(EmptyCartException.class, ErrorType.BAD_REQUEST)
     );
 
     @Override
@@ -1,3 +1,5 @@
+create extension if not exists pg_trgm;
+
 create table roles
 (
 	role_id uuid default gen_random_uuid() not null,
@@ -27,6 +29,15 @@ alter table users owner to postgres;
 create index index_user_role_id
 	on users (role_id);
 
+create index index_users_created_at
+	on users (created_at desc);
+
+create index index_users_email_trgm
+	on users using gin (lower(email) gin_trgm_ops);
+
+create index index_users_email_prefix
+	on users ((lower(email) collate "C"), user_id);
+
 create table category
 (
 	category_id uuid default gen_random_uuid() not null,
@@ -34,8 +45,12 @@ create table category
 	description varchar(255) not null,
 	created_at timestamp with time zone default CURRENT_TIMESTAMP not null,
 	updated_at timestamp with time zone default CURRENT_TIMESTAMP not null,
+	parent_id uuid,
 	primary key (category_id),
-	unique (name)
+	unique (name),
+	constraint fk_parent_in_category
+		foreign key (parent_id) references category
+			on delete restrict
 );
 
 alter table category owner to postgres;
@@ -43,6 +58,28 @@ alter table category owner to postgres;
 create index index_category_name
 	on category (name);
 
+create index index_category_parent_id
+	on category (parent_id);
+
+create table category_closure
+(
+	ancestor_id uuid not null,
+	descendant_id uuid not null,
+	depth integer not null,
+	primary key (ancestor_id, descendant_id),
+	constraint fk_ancestor_in_category_closure
+		foreign key (ancestor_id) references category
+			on delete cascade,
+	constraint fk_descendant_in_category_closure
+		foreign key (descendant_id) references category
+			on delete cascade
+);
+
+alter table category_closure owner to postgres;
+
+create index index_category_closure_descendant_id
+	on category_closure (descendant_id, ancestor_id);
+
 create table product
 (
 	product_id uuid default gen_random_uuid() not null,
@@ -60,7 +97,7 @@ create table product
 	constraint product_price_check
 		check (price > (0)::numeric),
 	constraint product_stock_quantity_check
-		check (stock_quantity > 0)
+		check (stock_quantity >= 0)
 );
 
 alter table product owner to postgres;
@@ -71,6 +108,19 @@ create index index_product_category_id
 create index index_product_name
 	on product (name);
 
+create table category_product_stats
+(
+	category_id uuid not null,
+	product_count integer default 0 not null,
+	in_stock_count integer default 0 not null,
+	primary key (category_id),
+	constraint fk_category_in_product_stats
+		foreign key (category_id) references category
+			on delete cascade
+);
+
+alter table category_product_stats owner to postgres;
+
 create table customer
 (
 	customer_id uuid default gen_random_uuid() not null,
@@ -88,6 +138,18 @@ create table customer
 
 alter table customer owner to postgres;
 
+create index index_customer_first_name_trgm
+	on customer using gin (lower(first_name) gin_trgm_ops);
+
+create index index_customer_last_name_trgm
+	on customer using gin (lower(last_name) gin_trgm_ops);
+
+create index index_customer_first_name_prefix
+	on customer ((lower(first_name) collate "C"), customer_id);
+
+create index index_customer_last_name_prefix
+	on customer ((lower(last_name) collate "C"), customer_id);
+
 create table review
 (
 	review_id uuid default gen_random_uuid() not null,
@@ -114,9 +176,44 @@ alter table review owner to postgres;
 create index index_review_product_id
 	on review (product_id);
 
+create index index_review_product_created_at
+	on review (product_id, created_at desc, review_id);
+
 create index index_review_customer_id
 	on review (customer_id);
 
+create index index_review_created_at
+	on review (created_at desc, review_id);
+
+create index index_review_comment_search
+	on review using gin (to_tsvector('simple', comment));
+
+create table product_rating_stats
+(
+	product_id uuid not null,
+	review_count integer default 0 not null,
+	rating_sum bigint default 0 not null,
+	rating_1 integer default 0 not null,
+	rating_2 integer default 0 not null,
+	rating_3 integer default 0 not null,
+	rating_4 integer default 0 not null,
+	rating_5 integer default 0 not null,
+	primary key (product_id),
+	constraint fk_product_in_rating_stats
+		foreign key (product_id) references product
+			on delete cascade
+);
+
+alter table product_rating_stats owner to postgres;
+
+insert into product_rating_stats (product_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+select product_id, count(*), sum(rating),
+	count(*) filter (where rating = 1), count(*) filter (where rating = 2), count(*) filter (where rating = 3),
+	count(*) filter (where rating = 4), count(*) filter (where rating = 5)
+from review
+group by product_id
+on conflict (product_id) do nothing;
+
 create table order_statuses
 (
 	status_id uuid default gen_random_uuid() not null,
@@ -197,6 +294,12 @@ create table cart
 
 alter table cart owner to postgres;
 
+create index index_cart_customer_id
+	on cart (customer_id);
+
+create index index_cart_updated_at
+	on cart (updated_at);
+
 create table cart_item
 (
 	cart_item_id uuid not null,
@@ -213,4 +316,41 @@ create table cart_item
 
 alter table cart_item owner to postgres;
 
+create index index_cart_item_cart_id
+	on cart_item (cart_id);
+
+create table refresh_token
+(
+	token_id uuid not null,
+	user_id uuid not null,
+	token_hash char(64) not null,
+	access_token_id uuid not null,
+	expires_at timestamp with time zone not null,
+	created_at timestamp with time zone default CURRENT_TIMESTAMP not null,
+	revoked_at timestamp with time zone,
+	primary key (token_id),
+	unique (token_hash),
+	constraint fk_user_in_refresh_token
+		foreign key (user_id) references users
+			on delete cascade
+);
+
+alter table refresh_token owner to postgres;
+
+create index index_refresh_token_user_id
+	on refresh_token (user_id);
+
+create index index_refresh_token_expires_at
+	on refresh_token (expires_at);
+
+create table revoked_access_token
+(
+	token_id uuid not null,
+	expires_at timestamp with time zone not null,
+	primary key (token_id)
+);
+
+alter table revoked_access_token owner to postgres;
 
+create index index_revoked_access_token_expires_at
+	on revoked_access_token (expires_at);
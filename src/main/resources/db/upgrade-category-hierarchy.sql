@@ -0,0 +1,83 @@
+-- Upgrades a database created before the category hierarchy. Safe to run more than once.
+-- New databases get the same tables from db.sql and need no backfill.
+
+begin;
+
+alter table category add column if not exists parent_id uuid;
+
+do $$
+begin
+	if not exists (select 1 from pg_constraint where conname = 'fk_parent_in_category') then
+		alter table category
+			add constraint fk_parent_in_category
+				foreign key (parent_id) references category
+					on delete restrict;
+	end if;
+end $$;
+
+create index if not exists index_category_parent_id
+	on category (parent_id);
+
+create table if not exists category_closure
+(
+	ancestor_id uuid not null,
+	descendant_id uuid not null,
+	depth integer not null,
+	primary key (ancestor_id, descendant_id),
+	constraint fk_ancestor_in_category_closure
+		foreign key (ancestor_id) references category
+			on delete cascade,
+	constraint fk_descendant_in_category_closure
+		foreign key (descendant_id) references category
+			on delete cascade
+);
+
+alter table category_closure owner to postgres;
+
+create index if not exists index_category_closure_descendant_id
+	on category_closure (descendant_id, ancestor_id);
+
+-- Every category paired with itself and with each ancestor reached through parent_id.
+insert into category_closure (ancestor_id, descendant_id, depth)
+with recursive paths (ancestor_id, descendant_id, depth) as (
+	select category_id, category_id, 0
+	from category
+	union all
+	select c.parent_id, paths.descendant_id, paths.depth + 1
+	from paths
+	join category c on c.category_id = paths.ancestor_id
+	where c.parent_id is not null
+)
+select ancestor_id, descendant_id, depth
+from paths
+on conflict (ancestor_id, descendant_id) do nothing;
+
+alter table product drop constraint if exists product_stock_quantity_check;
+alter table product
+	add constraint product_stock_quantity_check
+		check (stock_quantity >= 0);
+
+create table if not exists category_product_stats
+(
+	category_id uuid not null,
+	product_count integer default 0 not null,
+	in_stock_count integer default 0 not null,
+	primary key (category_id),
+	constraint fk_category_in_product_stats
+		foreign key (category_id) references category
+			on delete cascade
+);
+
+alter table category_product_stats owner to postgres;
+
+-- Recomputed from scratch, so a rerun also repairs drifted counts.
+insert into category_product_stats (category_id, product_count, in_stock_count)
+select cc.ancestor_id, count(p.product_id), count(p.product_id) filter (where p.stock_quantity > 0)
+from category_closure cc
+left join product p on p.category_id = cc.descendant_id
+group by cc.ancestor_id
+on conflict (category_id) do update
+	set product_count = excluded.product_count,
+	    in_stock_count = excluded.in_stock_count;
+
+commit;
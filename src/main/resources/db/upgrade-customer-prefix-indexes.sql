@@ -0,0 +1,15 @@
+-- Rebuilds the customer autocomplete prefix indexes of a database created before they were keyed on the "C"
+-- collation. Safe to run more than once. New databases get the same indexes from db.sql.
+-- Runs outside a transaction so the indexes can be built concurrently.
+
+drop index concurrently if exists index_users_email_prefix;
+create index concurrently index_users_email_prefix
+	on users ((lower(email) collate "C"), user_id);
+
+drop index concurrently if exists index_customer_first_name_prefix;
+create index concurrently index_customer_first_name_prefix
+	on customer ((lower(first_name) collate "C"), customer_id);
+
+drop index concurrently if exists index_customer_last_name_prefix;
+create index concurrently index_customer_last_name_prefix
+	on customer ((lower(last_name) collate "C"), customer_id);
@@ -1,25 +1,32 @@
 package com.example.ecommerce_system;
 
+import com.auth0.jwt.JWT;
 import com.example.ecommerce_system.dto.auth.AuthResponseDto;
 import com.example.ecommerce_system.dto.auth.LoginRequestDto;
+import com.example.ecommerce_system.dto.auth.RefreshTokenRequestDto;
 import com.example.ecommerce_system.dto.auth.SignupRequestDto;
 import com.example.ecommerce_system.exception.auth.DuplicateEmailException;
 import com.example.ecommerce_system.exception.auth.InvalidCredentialsException;
+import com.example.ecommerce_system.exception.auth.InvalidRefreshTokenException;
 import com.example.ecommerce_system.exception.auth.UserNotFoundException;
 import com.example.ecommerce_system.exception.auth.WeakPasswordException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.RefreshToken;
 import com.example.ecommerce_system.model.Role;
 import com.example.ecommerce_system.model.User;
 import com.example.ecommerce_system.service.AuthService;
+import com.example.ecommerce_system.store.TokenStore;
 import com.example.ecommerce_system.store.UserStore;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -36,6 +43,9 @@ class AuthServiceTest {
     @Mock
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenStore tokenStore;
+
     @InjectMocks
     private AuthService authService;
 
@@ -58,7 +68,7 @@ class AuthServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userStore.getUserByEmail("admin@example.com")).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered("admin@example.com")).thenReturn(false);
         when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(savedUser);
 
@@ -66,7 +76,7 @@ class AuthServiceTest {
 
         Assertions.assertEquals("admin@example.com", response.getEmail());
         Assertions.assertEquals(Role.CUSTOMER, response.getRole());
-        verify(userStore).getUserByEmail("admin@example.com");
+        verify(userStore).isEmailRegistered("admin@example.com");
         verify(passwordEncoder).encode("Password123!");
         verify(userStore).createUser(any(User.class), any(Customer.class));
     }
@@ -82,26 +92,42 @@ class AuthServiceTest {
                 "+233111222333"
         );
 
-        User existingUser = User.builder()
-                .userId(UUID.randomUUID())
-                .email("existing@example.com")
-                .passwordHash("hashedPassword")
-                .role(Role.CUSTOMER)
-                .createdAt(Instant.now())
-                .build();
-
-        when(userStore.getUserByEmail("existing@example.com")).thenReturn(Optional.of(existingUser));
+        when(userStore.isEmailRegistered("existing@example.com")).thenReturn(true);
 
         Assertions.assertThrows(
                 DuplicateEmailException.class,
                 () -> authService.signup(request)
         );
 
-        verify(userStore).getUserByEmail("existing@example.com");
+        verify(userStore).isEmailRegistered("existing@example.com");
         verify(passwordEncoder, never()).encode(any());
         verify(userStore, never()).createUser(any(), any());
     }
 
+    @Test
+    @DisplayName("Should throw error when email is taken between check and insert")
+    void shouldThrowWhenEmailIsTakenOnInsert() {
+        SignupRequestDto request = new SignupRequestDto(
+                "race@example.com",
+                "Password123!",
+                "Eve",
+                "Stone",
+                "+233222333444"
+        );
+
+        when(userStore.isEmailRegistered("race@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
+        when(userStore.createUser(any(User.class), any(Customer.class)))
+                .thenThrow(new DuplicateEmailException("race@example.com"));
+
+        Assertions.assertThrows(
+                DuplicateEmailException.class,
+                () -> authService.signup(request)
+        );
+
+        verify(userStore, never()).getUserByEmail(any());
+    }
+
     @Test
     @DisplayName("Should throw error when password is too short")
     void shouldThrowWhenPasswordIsTooShort() {
@@ -315,7 +341,7 @@ class AuthServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userStore.getUserByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered("user@example.com")).thenReturn(false);
         when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(savedUser);
 
@@ -348,7 +374,7 @@ class AuthServiceTest {
                 .createdAt(createdAt)
                 .build();
 
-        when(userStore.getUserByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered("user@example.com")).thenReturn(false);
         when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(savedUser);
 
@@ -408,7 +434,7 @@ class AuthServiceTest {
                 .createdAt(Instant.now())
                 .build();
 
-        when(userStore.getUserByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered("user@example.com")).thenReturn(false);
         when(passwordEncoder.encode("ValidPass123!")).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(savedUser);
 
@@ -424,7 +450,7 @@ class AuthServiceTest {
         SignupRequestDto request2 = new SignupRequestDto("user2@example.com", "Password123#", "Rachel", "Brown", "+233147147147");
         SignupRequestDto request3 = new SignupRequestDto("user3@example.com", "Password123$", "Steve", "Cyan", "+233258258258");
 
-        when(userStore.getUserByEmail(any())).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered(any())).thenReturn(false);
         when(passwordEncoder.encode(any())).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(User.builder()
                 .userId(UUID.randomUUID())
@@ -450,7 +476,7 @@ class AuthServiceTest {
                 "+233369369369"
         );
 
-        when(userStore.getUserByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userStore.isEmailRegistered("user@example.com")).thenReturn(false);
         when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
         when(userStore.createUser(any(User.class), any(Customer.class))).thenReturn(User.builder()
                 .userId(UUID.randomUUID())
@@ -464,4 +490,86 @@ class AuthServiceTest {
 
         verify(userStore).createUser(argThat(user -> user.getUserId() != null), any(Customer.class));
     }
+
+    @Test
+    @DisplayName("Should carry the new customer id into the token of a login right after signup")
+    void shouldIssueCustomerIdClaimOnLoginAfterSignup() {
+        ReflectionTestUtils.setField(authService, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(authService, "accessTokenTtlMs", 900000L);
+
+        SignupRequestDto request = new SignupRequestDto(
+                "fresh@example.com",
+                "Password123!",
+                "Nina",
+                "Gold",
+                "+233999888777"
+        );
+
+        when(userStore.isEmailRegistered("fresh@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
+        when(userStore.createUser(any(User.class), any(Customer.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        authService.signup(request);
+
+        ArgumentCaptor<User> cachedUser = ArgumentCaptor.forClass(User.class);
+        ArgumentCaptor<Customer> customer = ArgumentCaptor.forClass(Customer.class);
+        verify(userStore).createUser(cachedUser.capture(), customer.capture());
+
+        when(userStore.getUserByEmail("fresh@example.com")).thenReturn(Optional.of(cachedUser.getValue()));
+        when(passwordEncoder.matches("Password123!", "hashedPassword")).thenReturn(true);
+
+        AuthResponseDto response = authService.login(new LoginRequestDto("fresh@example.com", "Password123!"));
+
+        Assertions.assertEquals(
+                customer.getValue().getCustomerId().toString(),
+                JWT.decode(response.getToken()).getClaim("customerId").asString()
+        );
+    }
+
+    @Test
+    @DisplayName("Should rotate refresh token and issue new tokens")
+    void shouldRefreshTokensSuccessfully() {
+        ReflectionTestUtils.setField(authService, "secretKey", "test-secret");
+        ReflectionTestUtils.setField(authService, "accessTokenTtlMs", 900000L);
+
+        User user = User.builder()
+                .userId(UUID.randomUUID())
+                .email("user@example.com")
+                .passwordHash("hashedPassword")
+                .role(Role.CUSTOMER)
+                .createdAt(Instant.now())
+                .build();
+
+        when(tokenStore.rotateRefreshToken(anyString(), any(RefreshToken.RefreshTokenBuilder.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1, RefreshToken.RefreshTokenBuilder.class)
+                        .userId(user.getUserId())
+                        .build());
+        when(userStore.getUserById(user.getUserId())).thenReturn(Optional.of(user));
+
+        AuthResponseDto response = authService.refresh(new RefreshTokenRequestDto("old-refresh-token"));
+
+        Assertions.assertEquals(user.getUserId(), response.getUserId());
+        Assertions.assertNotNull(response.getToken());
+        Assertions.assertNotNull(response.getRefreshToken());
+        Assertions.assertNotEquals("old-refresh-token", response.getRefreshToken());
+        verify(tokenStore).rotateRefreshToken(
+                argThat(hash -> hash.length() == 64 && !hash.equals("old-refresh-token")),
+                any(RefreshToken.RefreshTokenBuilder.class));
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw error when refreshing with invalid refresh token")
+    void shouldThrowWhenRefreshingWithInvalidToken() {
+        when(tokenStore.rotateRefreshToken(anyString(), any(RefreshToken.RefreshTokenBuilder.class)))
+                .thenThrow(new InvalidRefreshTokenException());
+
+        Assertions.assertThrows(
+                InvalidRefreshTokenException.class,
+                () -> authService.refresh(new RefreshTokenRequestDto("revoked-token"))
+        );
+
+        verify(userStore, never()).getUserById(any());
+    }
 }
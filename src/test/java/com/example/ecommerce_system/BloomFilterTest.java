@@ -0,0 +1,49 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.util.BloomFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    private static final int EXPECTED = 10_000;
+    private static final double FPP = 0.01;
+
+    private static BloomFilter filled() {
+        BloomFilter filter = BloomFilter.create(EXPECTED, FPP);
+        for (int i = 0; i < EXPECTED; i++) filter.add("user" + i + "@example.com");
+        return filter;
+    }
+
+    @Test
+    @DisplayName("Should never report an added value as absent")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = filled();
+
+        for (int i = 0; i < EXPECTED; i++)
+            Assertions.assertTrue(filter.mightContain("user" + i + "@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should report absent values as present at roughly the configured rate")
+    void shouldKeepFalsePositiveRateNearConfigured() {
+        BloomFilter filter = filled();
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++)
+            if (filter.mightContain("absent" + i + "@example.org")) falsePositives++;
+
+        double rate = (double) falsePositives / probes;
+        Assertions.assertTrue(rate < FPP * 2, "false positive rate " + rate);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing parameters")
+    void shouldRejectInvalidParameters() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, FPP));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(EXPECTED, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(EXPECTED, 1));
+    }
+}
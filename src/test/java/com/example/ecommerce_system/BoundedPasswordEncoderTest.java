@@ -0,0 +1,99 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.config.BoundedPasswordEncoder;
+import com.example.ecommerce_system.dto.ErrorResponseDto;
+import com.example.ecommerce_system.exception.auth.AuthCapacityExceededException;
+import com.example.ecommerce_system.util.handler.AuthResponseHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class BoundedPasswordEncoderTest {
+
+    private final BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(1, 1, 7);
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    @DisplayName("Should hash and verify passwords on the pool and record their latency")
+    void shouldEncodeAndMatch() {
+        String encoded = encoder.encode("Secret123!");
+
+        Assertions.assertTrue(encoder.matches("Secret123!", encoded));
+        Assertions.assertFalse(encoder.matches("wrong", encoded));
+        Assertions.assertEquals(1, encoder.getEncodeLatency().count());
+        Assertions.assertEquals(2, encoder.getMatchesLatency().count());
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 and Retry-After when the worker and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        String encoded = encoder.encode("Secret123!");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingPassword blocking = new BlockingPassword(running, release);
+
+        CompletableFuture<Boolean> inFlight = CompletableFuture.supplyAsync(() -> encoder.matches(blocking, encoded));
+        Assertions.assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches(blocking, encoded));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < 1 && System.nanoTime() < deadline) Thread.onSpinWait();
+
+        AuthCapacityExceededException exception = Assertions.assertThrows(
+                AuthCapacityExceededException.class,
+                () -> encoder.matches("Secret123!", encoded)
+        );
+        ResponseEntity<ErrorResponseDto<String>> response = new AuthResponseHandler().handleAuthCapacityExceeded(exception);
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        Assertions.assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        release.countDown();
+        Assertions.assertTrue(inFlight.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Password whose characters are only handed to BCrypt once the test releases it, keeping the worker busy.
+     */
+    private record BlockingPassword(CountDownLatch running, CountDownLatch release) implements CharSequence {
+        private static final String VALUE = "Secret123!";
+
+        @Override
+        public String toString() {
+            running.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return VALUE;
+        }
+
+        @Override
+        public int length() {
+            return VALUE.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return VALUE.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return VALUE.subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dto.cache.CacheStatsDto;
+import com.example.ecommerce_system.service.CacheStatsService;
+import com.example.ecommerce_system.util.CacheEntryWeigher;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.List;
+
+class CacheStatsServiceTest {
+
+    private CaffeineCacheManager cacheManager;
+    private CacheStatsService cacheStatsService;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache("orders", Caffeine.newBuilder()
+                .maximumWeight(100)
+                .weigher(new CacheEntryWeigher())
+                .recordStats()
+                .executor(Runnable::run)
+                .build());
+        cacheManager.registerCustomCache("category_counts", Caffeine.newBuilder()
+                .maximumWeight(10)
+                .weigher(new CacheEntryWeigher())
+                .executor(Runnable::run)
+                .build());
+        cacheStatsService = new CacheStatsService(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should report hits, misses and row-weighted size per cache")
+    void shouldReportStatsPerCache() {
+        Cache orders = cacheManager.getCache("orders");
+        orders.put("all:20:0", List.of("a", "b", "c"));
+        orders.get("all:20:0");
+        orders.get("all:20:20");
+
+        List<CacheStatsDto> stats = cacheStatsService.getCacheStats();
+
+        Assertions.assertEquals(List.of("category_counts", "orders"), stats.stream().map(CacheStatsDto::getName).toList());
+        CacheStatsDto orderStats = stats.get(1);
+        Assertions.assertEquals(1, orderStats.getHitCount());
+        Assertions.assertEquals(1, orderStats.getMissCount());
+        Assertions.assertEquals(3, orderStats.getWeightedSize());
+        Assertions.assertEquals(100, orderStats.getMaximumWeight());
+    }
+
+    @Test
+    @DisplayName("Should report zero counts for caches without recorded stats")
+    void shouldReportZeroCountsWithoutRecordStats() {
+        Cache counts = cacheManager.getCache("category_counts");
+        counts.put("all", List.of());
+        counts.get("all");
+
+        CacheStatsDto stats = cacheStatsService.getCacheStats().get(0);
+
+        Assertions.assertEquals(0, stats.getHitCount());
+        Assertions.assertEquals(1, stats.getWeightedSize());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.job.CartSessionFlushJob;
+import com.example.ecommerce_system.store.CartSessionStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CartSessionFlushJobTest {
+
+    @Mock
+    private CartSessionStore cartSessionStore;
+
+    @InjectMocks
+    private CartSessionFlushJob cartSessionFlushJob;
+
+    @Test
+    @DisplayName("Should flush stale cart sessions when write-behind is enabled")
+    void shouldFlushStaleSessionsWhenEnabled() {
+        when(cartSessionStore.isEnabled()).thenReturn(true);
+        when(cartSessionStore.flushStale()).thenReturn(3);
+
+        cartSessionFlushJob.flushStaleSessions();
+
+        verify(cartSessionStore).flushStale();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when write-behind is disabled")
+    void shouldSkipWhenDisabled() {
+        when(cartSessionStore.isEnabled()).thenReturn(false);
+
+        cartSessionFlushJob.flushStaleSessions();
+
+        verify(cartSessionStore, never()).flushStale();
+    }
+}
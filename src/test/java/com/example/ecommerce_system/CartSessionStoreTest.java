@@ -0,0 +1,233 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.interfaces.CartDao;
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.model.Cart;
+import com.example.ecommerce_system.model.CartItem;
+import com.example.ecommerce_system.store.CartSessionStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class CartSessionStoreTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private CartDao cartDao;
+
+    private final UUID customerId = UUID.randomUUID();
+
+    private final Cart cart = Cart.builder()
+            .cartId(UUID.randomUUID())
+            .customerId(customerId)
+            .createdAt(Instant.now())
+            .updatedAt(Instant.now())
+            .build();
+
+    private CartSessionStore store() {
+        return new CartSessionStore(dataSource, cartDao, true, 100, 1_800_000, 0, 200);
+    }
+
+    private CartItem item(int quantity) {
+        return CartItem.builder()
+                .cartItemId(UUID.randomUUID())
+                .cartId(cart.getCartId())
+                .productId(UUID.randomUUID())
+                .quantity(quantity)
+                .addedAt(Instant.now())
+                .build();
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (thread.getState() != Thread.State.BLOCKED) {
+            if (System.nanoTime() > deadline) Assertions.fail("Cart mutation never waited for the checkout");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply a cart change made during checkout to the reloaded session")
+    void shouldKeepCartChangeMadeDuringCheckout() throws Exception {
+        CartItem checkedOut = item(1);
+        CartItem late = item(2);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of(checkedOut), List.of());
+
+        CartSessionStore store = store();
+        Thread adder = new Thread(() -> store.addCartItem(customerId, late));
+
+        String order = store.checkout(customerId, () -> {
+            adder.start();
+            try {
+                awaitBlocked(adder);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return "order";
+        });
+        adder.join(5_000);
+
+        Assertions.assertEquals("order", order);
+        Assertions.assertEquals(List.of(late), store.getCartItems(customerId));
+
+        store.flushStale();
+        verify(cartDao).upsertItemsBatch(connection, List.of(late));
+        verify(cartDao, never()).deleteItemsBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated changes to an item into a single write")
+    void shouldCoalesceChangesIntoOneWrite() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of());
+
+        CartSessionStore store = store();
+        CartItem added = item(1);
+        store.addCartItem(customerId, added);
+        store.updateCartItem(customerId, added.getCartItemId(), 2);
+        store.updateCartItem(customerId, added.getCartItemId(), 5);
+
+        Assertions.assertEquals(1, store.flushStale());
+
+        ArgumentCaptor<List<CartItem>> written = ArgumentCaptor.forClass(List.class);
+        verify(cartDao).upsertItemsBatch(eq(connection), written.capture());
+        Assertions.assertEquals(1, written.getValue().size());
+        Assertions.assertEquals(5, written.getValue().get(0).getQuantity());
+        verify(cartDao).upsertBatch(eq(connection), argThat(carts -> carts.size() == 1));
+        verify(cartDao, never()).deleteItemsBatch(any(), any());
+        verify(connection).commit();
+
+        Assertions.assertEquals(0, store.flushStale());
+    }
+
+    @Test
+    @DisplayName("Should not write an item that was added and removed before the flush")
+    void shouldSkipItemAddedAndRemovedBeforeFlush() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of());
+
+        CartSessionStore store = store();
+        CartItem added = item(1);
+        store.addCartItem(customerId, added);
+        store.removeCartItem(customerId, added.getCartItemId());
+
+        store.flushStale();
+
+        verify(cartDao, never()).upsertItemsBatch(any(), any());
+        verify(cartDao, never()).deleteItemsBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should write the new quantity of a persisted item after an update")
+    void shouldFlushUpdateOfPersistedItem() throws Exception {
+        CartItem persisted = item(1);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of(persisted));
+
+        CartSessionStore store = store();
+        store.updateCartItem(customerId, persisted.getCartItemId(), 3);
+
+        store.flushStale();
+
+        verify(cartDao).upsertItemsBatch(eq(connection), argThat(items ->
+                items.size() == 1
+                        && items.get(0).getCartItemId().equals(persisted.getCartItemId())
+                        && items.get(0).getQuantity() == 3));
+        verify(cartDao, never()).deleteItemsBatch(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delete a persisted item after it is removed")
+    void shouldFlushRemovalOfPersistedItem() throws Exception {
+        CartItem persisted = item(1);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of(persisted));
+
+        CartSessionStore store = store();
+        store.removeCartItem(customerId, persisted.getCartItemId());
+
+        store.flushStale();
+
+        verify(cartDao).deleteItemsBatch(connection, List.of(persisted.getCartItemId()));
+        verify(cartDao, never()).upsertItemsBatch(any(), any());
+        Assertions.assertTrue(store.getCartItems(customerId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the session dirty after a failed flush and retry it on the next run")
+    void shouldRetryAfterFailedFlush() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.of(cart));
+        when(cartDao.findItemsByCartId(connection, cart.getCartId())).thenReturn(List.of());
+        // Fails for the batch and for the isolated retry of the first run, succeeds on the next run
+        doThrow(new DaoException("write failed")).doThrow(new DaoException("write failed")).doNothing()
+                .when(cartDao).upsertItemsBatch(eq(connection), any());
+
+        CartSessionStore store = store();
+        CartItem added = item(1);
+        store.addCartItem(customerId, added);
+
+        Assertions.assertEquals(0, store.flushStale());
+        verify(connection, atLeastOnce()).rollback();
+
+        Assertions.assertEquals(1, store.flushStale());
+        verify(cartDao, times(3)).upsertItemsBatch(connection, List.of(added));
+        verify(connection).commit();
+        Assertions.assertEquals(0, store.flushStale());
+    }
+
+    @Test
+    @DisplayName("Should flush every dirty session on shutdown")
+    void shouldFlushDirtySessionsOnShutdown() throws Exception {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(cartDao.findByCustomerId(connection, customerId)).thenReturn(Optional.empty());
+
+        CartSessionStore store = new CartSessionStore(dataSource, cartDao, true, 100, 1_800_000, 60_000, 200);
+        Cart created = store.getOrCreateCart(customerId);
+        CartItem added = CartItem.builder()
+                .cartItemId(UUID.randomUUID())
+                .cartId(created.getCartId())
+                .productId(UUID.randomUUID())
+                .quantity(1)
+                .addedAt(Instant.now())
+                .build();
+        store.addCartItem(customerId, added);
+
+        Assertions.assertEquals(0, store.flushStale());
+
+        store.flushOnShutdown();
+
+        verify(cartDao).upsertBatch(eq(connection), argThat(carts ->
+                carts.size() == 1 && carts.get(0).getCartId().equals(created.getCartId())));
+        verify(cartDao).upsertItemsBatch(connection, List.of(added));
+    }
+}
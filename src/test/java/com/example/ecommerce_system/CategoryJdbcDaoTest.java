@@ -0,0 +1,67 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.impl.CategoryJdbcDao;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryJdbcDaoTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final CategoryJdbcDao categoryDao = new CategoryJdbcDao();
+
+    @Test
+    @DisplayName("Should only delete the closure rows above the subtree when moving it to the root")
+    void shouldDetachSubtreeWithoutAttachingWhenMovingToRoot() throws Exception {
+        UUID categoryId = UUID.randomUUID();
+
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        categoryDao.moveSubtree(connection, categoryId, null);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        List<String> statements = sql.getAllValues();
+        Assertions.assertEquals(1, statements.size());
+        Assertions.assertTrue(statements.get(0).contains("DELETE FROM category_closure"));
+        verify(statement).setObject(1, categoryId);
+        verify(statement).setObject(2, categoryId);
+        verify(statement).executeUpdate();
+    }
+
+    @Test
+    @DisplayName("Should detach then attach the subtree under a new parent")
+    void shouldDetachThenAttachWhenMovingUnderParent() throws Exception {
+        UUID categoryId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+
+        categoryDao.moveSubtree(connection, categoryId, parentId);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, times(2)).prepareStatement(sql.capture());
+        Assertions.assertTrue(sql.getAllValues().get(0).contains("DELETE FROM category_closure"));
+        Assertions.assertTrue(sql.getAllValues().get(1).contains("INSERT INTO category_closure"));
+        verify(statement).setObject(1, parentId);
+        verify(statement, times(2)).executeUpdate();
+    }
+}
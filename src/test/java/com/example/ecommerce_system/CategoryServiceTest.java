@@ -5,7 +5,9 @@ import com.example.ecommerce_system.dto.category.CategoryResponseDto;
 import com.example.ecommerce_system.exception.category.CategoryNotFoundException;
 import com.example.ecommerce_system.exception.category.DuplicateCategoryException;
 import com.example.ecommerce_system.exception.category.CategoryDeletionException;
+import com.example.ecommerce_system.exception.category.InvalidCategoryParentException;
 import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
 import com.example.ecommerce_system.service.CategoryService;
 import com.example.ecommerce_system.store.CategoryStore;
 import org.junit.jupiter.api.Assertions;
@@ -18,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -221,6 +224,26 @@ class CategoryServiceTest {
         verify(categoryStore).findAll(10, 0);
     }
 
+    @Test
+    @DisplayName("Should attach precomputed product counts to all categories")
+    void shouldAttachProductCountsToCategories() {
+        UUID electronicsId = UUID.randomUUID();
+        List<Category> categories = List.of(
+                new Category(electronicsId, "Electronics", "Electronic items", Instant.now(), Instant.now()),
+                new Category(UUID.randomUUID(), "Books", "Book items", Instant.now(), Instant.now())
+        );
+
+        when(categoryStore.findAll(10, 0)).thenReturn(categories);
+        when(categoryStore.getProductCounts()).thenReturn(Map.of(electronicsId, new CategoryProductCounts(12, 9)));
+
+        List<CategoryResponseDto> responses = categoryService.getAllCategories(10, 0);
+
+        Assertions.assertEquals(12, responses.get(0).getProductCount());
+        Assertions.assertEquals(9, responses.get(0).getInStockCount());
+        Assertions.assertEquals(0, responses.get(1).getProductCount());
+        verify(categoryStore).getProductCounts();
+    }
+
     @Test
     @DisplayName("Should return empty list when no categories found")
     void shouldReturnEmptyListWhenNoCategoriesFound() {
@@ -264,6 +287,14 @@ class CategoryServiceTest {
         verify(categoryStore).findAll(5, 10);
     }
 
+    @Test
+    @DisplayName("Should reject a negative offset before reading the snapshot")
+    void shouldRejectNegativeOffset() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> categoryService.getAllCategories(10, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> categoryService.getCategories("Elec", 10, -1));
+        verifyNoInteractions(categoryStore);
+    }
+
     @Test
     @DisplayName("Should preserve created timestamp when updating category")
     void shouldPreserveCreatedTimestampWhenUpdating() {
@@ -347,4 +378,112 @@ class CategoryServiceTest {
         verify(categoryStore).deleteCategory(categoryId);
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should throw error when moving a category under its own descendant")
+    void shouldThrowWhenMovingCategoryUnderDescendant() {
+        UUID categoryId = UUID.randomUUID();
+        UUID childId = UUID.randomUUID();
+        CategoryRequestDto request = new CategoryRequestDto("Electronics", "Electronic items", childId);
+        Category existingCategory = new Category(
+                categoryId, "Electronics", "Electronic items",
+                Instant.now(), Instant.now()
+        );
+        Category childCategory = new Category(
+                childId, "Phones", "Mobile phones",
+                Instant.now(), Instant.now(), categoryId
+        );
+
+        when(categoryStore.getCategory(categoryId)).thenReturn(Optional.of(existingCategory));
+        when(categoryStore.getCategory(childId)).thenReturn(Optional.of(childCategory));
+        when(categoryStore.isInSubtree(categoryId, childId)).thenReturn(true);
+
+        Assertions.assertThrows(
+                InvalidCategoryParentException.class,
+                () -> categoryService.updateCategory(categoryId, request)
+        );
+
+        verify(categoryStore, never()).updateCategory(any());
+    }
+
+    @Test
+    @DisplayName("Should move category to a new parent when keeping its own name")
+    void shouldMoveCategoryKeepingItsName() {
+        UUID categoryId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        CategoryRequestDto request = new CategoryRequestDto("Phones", "Mobile phones", parentId);
+        Category existingCategory = new Category(
+                categoryId, "Phones", "Mobile phones",
+                Instant.now(), Instant.now()
+        );
+        Category parentCategory = new Category(
+                parentId, "Electronics", "Electronic items",
+                Instant.now(), Instant.now()
+        );
+
+        when(categoryStore.getCategory(categoryId)).thenReturn(Optional.of(existingCategory));
+        when(categoryStore.getCategoryByName("Phones")).thenReturn(Optional.of(existingCategory));
+        when(categoryStore.getCategory(parentId)).thenReturn(Optional.of(parentCategory));
+        when(categoryStore.isInSubtree(categoryId, parentId)).thenReturn(false);
+        when(categoryStore.updateCategory(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CategoryResponseDto response = categoryService.updateCategory(categoryId, request);
+
+        Assertions.assertEquals("Phones", response.getName());
+        verify(categoryStore).updateCategory(argThat(category -> parentId.equals(category.getParentId())));
+    }
+
+    @Test
+    @DisplayName("Should move a category to the root when moveToRoot is set")
+    void shouldMoveCategoryToRoot() {
+        UUID categoryId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        CategoryRequestDto request = new CategoryRequestDto(null, null, null, true);
+        Category existingCategory = new Category(
+                categoryId, "Phones", "Mobile phones",
+                Instant.now(), Instant.now(), parentId
+        );
+
+        when(categoryStore.getCategory(categoryId)).thenReturn(Optional.of(existingCategory));
+        when(categoryStore.updateCategory(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CategoryResponseDto response = categoryService.updateCategory(categoryId, request);
+
+        Assertions.assertNull(response.getParentId());
+        Assertions.assertEquals("Phones", response.getName());
+        verify(categoryStore).updateCategory(argThat(category -> category.getParentId() == null));
+        verify(categoryStore, never()).isInSubtree(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep the current parent when no parent is given")
+    void shouldKeepParentWhenParentIdIsNull() {
+        UUID categoryId = UUID.randomUUID();
+        UUID parentId = UUID.randomUUID();
+        CategoryRequestDto request = new CategoryRequestDto(null, "Smartphones", null);
+        Category existingCategory = new Category(
+                categoryId, "Phones", "Mobile phones",
+                Instant.now(), Instant.now(), parentId
+        );
+
+        when(categoryStore.getCategory(categoryId)).thenReturn(Optional.of(existingCategory));
+        when(categoryStore.updateCategory(any(Category.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        categoryService.updateCategory(categoryId, request);
+
+        verify(categoryStore).updateCategory(argThat(category -> parentId.equals(category.getParentId())));
+    }
+
+    @Test
+    @DisplayName("Should reject moveToRoot together with a parent")
+    void shouldRejectMoveToRootWithParent() {
+        UUID categoryId = UUID.randomUUID();
+        CategoryRequestDto request = new CategoryRequestDto(null, null, UUID.randomUUID(), true);
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> categoryService.updateCategory(categoryId, request)
+        );
+
+        verify(categoryStore, never()).updateCategory(any());
+    }
+}
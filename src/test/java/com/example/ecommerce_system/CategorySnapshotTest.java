@@ -0,0 +1,33 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategorySnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+class CategorySnapshotTest {
+
+    private static Category category(String id, String name) {
+        return new Category(UUID.fromString(id), name, name, Instant.now(), Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should order categories by name ignoring case, breaking ties by id")
+    void shouldOrderByNameIgnoringCase() {
+        Category zebra = category("00000000-0000-0000-0000-000000000001", "Zebra");
+        Category appleUpper = category("00000000-0000-0000-0000-000000000003", "APPLE");
+        Category appleLower = category("00000000-0000-0000-0000-000000000002", "apple");
+        Category banana = category("00000000-0000-0000-0000-000000000004", "banana");
+
+        CategorySnapshot snapshot = CategorySnapshot.of(List.of(zebra, appleUpper, banana, appleLower));
+
+        Assertions.assertEquals(List.of(appleLower, appleUpper, banana, zebra), snapshot.findAll(10, 0));
+        Assertions.assertEquals(List.of(appleUpper, banana), snapshot.findAll(2, 1));
+        Assertions.assertEquals(List.of(appleLower, appleUpper), snapshot.searchByName("APP", 10, 0));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.interfaces.CategoryDao;
+import com.example.ecommerce_system.model.Category;
+import com.example.ecommerce_system.model.CategoryProductCounts;
+import com.example.ecommerce_system.store.CategoryStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryStoreTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private CategoryDao categoryDao;
+
+    @Test
+    @DisplayName("Should detach a subtree to the root and take its products off the old ancestors")
+    void shouldMoveSubtreeToRoot() throws Exception {
+        UUID parentId = UUID.randomUUID();
+        UUID categoryId = UUID.randomUUID();
+        Category parent = new Category(parentId, "Electronics", "Electronic items", Instant.now(), Instant.now());
+        Category child = new Category(categoryId, "Phones", "Mobile phones", Instant.now(), Instant.now(), parentId);
+        Category moved = new Category(categoryId, "Phones", "Mobile phones", child.getCreatedAt(), Instant.now(), null);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(categoryDao.findAll(connection)).thenReturn(List.of(parent, child));
+        when(categoryDao.lockForMove(connection, categoryId, null)).thenReturn(Optional.of(child));
+        when(categoryDao.findSubtreeProductCounts(connection, categoryId)).thenReturn(new CategoryProductCounts(7, 4));
+
+        CategoryStore store = new CategoryStore(dataSource, categoryDao);
+        store.reload();
+        store.updateCategory(moved);
+
+        InOrder move = inOrder(categoryDao, connection);
+        move.verify(categoryDao).update(connection, moved);
+        move.verify(categoryDao).adjustSubtreeProductCounts(connection, parentId, -7, -4);
+        move.verify(categoryDao).moveSubtree(connection, categoryId, null);
+        move.verify(connection).commit();
+        verify(categoryDao, never()).isInSubtree(any(), any(), any());
+        verify(categoryDao, never()).adjustSubtreeProductCounts(any(), any(), intThat(delta -> delta > 0), anyInt());
+
+        Assertions.assertNull(store.getCategory(categoryId).orElseThrow().getParentId());
+    }
+}
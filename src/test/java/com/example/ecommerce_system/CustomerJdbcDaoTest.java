@@ -0,0 +1,88 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.impl.CustomerJdbcDao;
+import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.util.KeysetCursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerJdbcDaoTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private final CustomerJdbcDao customerDao = new CustomerJdbcDao();
+
+    @Test
+    @DisplayName("Should seek to the cursor and break created_at ties by customer id")
+    void shouldPageAcrossCreatedAtTie() throws Exception {
+        Instant tiedAt = Instant.parse("2025-01-01T10:00:00Z");
+        UUID lastOnPage = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID nextTied = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID older = UUID.fromString("00000000-0000-0000-0000-000000000003");
+        Instant olderAt = tiedAt.minusSeconds(60);
+
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject("customer_id", UUID.class)).thenReturn(nextTied, older);
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.from(tiedAt), Timestamp.from(olderAt));
+
+        List<Customer> page = customerDao.findAll(connection, new KeysetCursor(tiedAt, lastOnPage), 2);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        Assertions.assertTrue(sql.getValue().contains("u.created_at <= ?"));
+        Assertions.assertTrue(sql.getValue().contains("(u.created_at < ? OR (u.created_at = ? AND c.customer_id > ?))"));
+
+        Timestamp bound = Timestamp.from(tiedAt);
+        InOrder binding = inOrder(statement);
+        binding.verify(statement).setTimestamp(1, bound);
+        binding.verify(statement).setTimestamp(2, bound);
+        binding.verify(statement).setTimestamp(3, bound);
+        binding.verify(statement).setObject(4, lastOnPage);
+        binding.verify(statement).setInt(5, 2);
+
+        Assertions.assertEquals(List.of(nextTied, older), page.stream().map(Customer::getCustomerId).toList());
+    }
+
+    @Test
+    @DisplayName("Should read the first page without a cursor predicate")
+    void shouldReadFirstPageWithoutCursor() throws Exception {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(false);
+
+        List<Customer> page = customerDao.findAll(connection, null, 20);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        Assertions.assertFalse(sql.getValue().contains("WHERE"));
+        verify(statement).setInt(1, 20);
+        Assertions.assertTrue(page.isEmpty());
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.ecommerce_system;
 
+import com.example.ecommerce_system.dto.CursorPageDto;
 import com.example.ecommerce_system.dto.customer.CustomerRequestDto;
 import com.example.ecommerce_system.dto.customer.CustomerResponseDto;
+import com.example.ecommerce_system.dto.customer.CustomerSummaryDto;
 import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.CustomerSummary;
 import com.example.ecommerce_system.service.CustomerService;
 import com.example.ecommerce_system.store.CustomerStore;
+import com.example.ecommerce_system.util.KeysetCursor;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -93,14 +97,15 @@ class CustomerServiceTest {
                         .build()
         );
 
-        when(customerStore.getAllCustomers(10, 0)).thenReturn(customers);
+        when(customerStore.getAllCustomers(null, 11)).thenReturn(customers);
 
-        List<CustomerResponseDto> result = customerService.getAllCustomers(10, 0);
+        CursorPageDto<CustomerResponseDto> result = customerService.getAllCustomers(10, null);
 
-        Assertions.assertEquals(2, result.size());
-        Assertions.assertEquals("John", result.get(0).getFirstName());
-        Assertions.assertEquals("Jane", result.get(1).getFirstName());
-        verify(customerStore).getAllCustomers(10, 0);
+        Assertions.assertEquals(2, result.items().size());
+        Assertions.assertEquals("John", result.items().get(0).getFirstName());
+        Assertions.assertEquals("Jane", result.items().get(1).getFirstName());
+        Assertions.assertNull(result.nextCursor());
+        verify(customerStore).getAllCustomers(null, 11);
     }
 
     @Test
@@ -141,6 +146,61 @@ class CustomerServiceTest {
         verify(customerStore).searchCustomers(query, 10, 0);
     }
 
+    @Test
+    @DisplayName("Should return customer summary")
+    void shouldReturnCustomerSummary() {
+        UUID customerId = UUID.randomUUID();
+        Instant lastOrderAt = Instant.now();
+        CustomerSummary summary = new CustomerSummary(customerId, 3, 150.5, lastOrderAt, 2, 5, 1);
+
+        when(customerStore.getCustomerSummary(customerId)).thenReturn(Optional.of(summary));
+
+        CustomerSummaryDto result = customerService.getCustomerSummary(customerId);
+
+        Assertions.assertEquals(3, result.getOrderCount());
+        Assertions.assertEquals(150.5, result.getLifetimeSpend());
+        Assertions.assertEquals(lastOrderAt, result.getLastOrderAt());
+        Assertions.assertEquals(2, result.getCartItemCount());
+        Assertions.assertEquals(1, result.getReviewCount());
+    }
+
+    @Test
+    @DisplayName("Should throw error when summarizing non-existing customer")
+    void shouldThrowWhenSummarizingMissingCustomer() {
+        UUID customerId = UUID.randomUUID();
+
+        when(customerStore.getCustomerSummary(customerId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(
+                CustomerNotFoundException.class,
+                () -> customerService.getCustomerSummary(customerId)
+        );
+    }
+
+    @Test
+    @DisplayName("Should autocomplete customers by trimmed prefix")
+    void shouldAutocompleteCustomersByTrimmedPrefix() {
+        List<Customer> customers = List.of(
+                Customer.builder()
+                        .customerId(UUID.randomUUID())
+                        .firstName("John")
+                        .lastName("Doe")
+                        .email("john@example.com")
+                        .phone("+233123456789")
+                        .isActive(true)
+                        .createdAt(Instant.now())
+                        .build()
+        );
+
+        when(customerStore.autocompleteCustomers("jo", 5)).thenReturn(customers);
+
+        List<CustomerResponseDto> result = customerService.autocompleteCustomers(" jo ", 5);
+
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals("John", result.get(0).getFirstName());
+        verify(customerStore).autocompleteCustomers("jo", 5);
+    }
+
     @Test
     @DisplayName("Should update customer phone successfully")
     void shouldUpdateCustomerPhoneSuccessfully() {
@@ -323,12 +383,17 @@ class CustomerServiceTest {
                         .build()
         );
 
-        when(customerStore.getAllCustomers(5, 10)).thenReturn(customers);
+        KeysetCursor after = new KeysetCursor(Instant.now(), UUID.randomUUID());
+        when(customerStore.getAllCustomers(after, 2)).thenReturn(customers);
 
-        List<CustomerResponseDto> result = customerService.getAllCustomers(5, 10);
+        CursorPageDto<CustomerResponseDto> result = customerService.getAllCustomers(1, after.encode());
 
-        Assertions.assertEquals(2, result.size());
-        verify(customerStore).getAllCustomers(5, 10);
+        Assertions.assertEquals(1, result.items().size());
+        Customer last = customers.get(0);
+        Assertions.assertEquals(
+                new KeysetCursor(last.getCreatedAt(), last.getCustomerId()).encode(),
+                result.nextCursor());
+        verify(customerStore).getAllCustomers(after, 2);
     }
 
     @Test
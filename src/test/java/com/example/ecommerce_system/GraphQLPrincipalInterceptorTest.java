@@ -0,0 +1,58 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.config.GraphQLPrincipalInterceptor;
+import com.example.ecommerce_system.model.RequestPrincipal;
+import com.example.ecommerce_system.model.Role;
+import graphql.ExecutionInput;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+class GraphQLPrincipalInterceptorTest {
+
+    private final GraphQLPrincipalInterceptor interceptor = new GraphQLPrincipalInterceptor();
+
+    private ExecutionInput intercept(Map<String, Object> attributes) {
+        WebGraphQlRequest request = new WebGraphQlRequest(
+                URI.create("http://localhost/graphql"), new HttpHeaders(), new LinkedMultiValueMap<>(),
+                attributes, Map.of("query", "{ orders { orderId } }"), "1", Locale.ENGLISH);
+
+        AtomicReference<ExecutionInput> input = new AtomicReference<>();
+        interceptor.intercept(request, next -> {
+            input.set(next.toExecutionInput());
+            return Mono.empty();
+        }).block();
+        return input.get();
+    }
+
+    @Test
+    @DisplayName("Should copy the request principal into the GraphQL context")
+    void shouldCopyPrincipalIntoContext() {
+        RequestPrincipal principal = new RequestPrincipal(UUID.randomUUID(), Role.CUSTOMER, UUID.randomUUID());
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(RequestPrincipal.ATTRIBUTE, principal);
+
+        ExecutionInput input = intercept(attributes);
+
+        Assertions.assertEquals(principal, input.getGraphQLContext().get(RequestPrincipal.ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Should leave the GraphQL context without a principal when the request has none")
+    void shouldSkipMissingPrincipal() {
+        ExecutionInput input = intercept(new HashMap<>());
+
+        Assertions.assertFalse(input.getGraphQLContext().hasKey(RequestPrincipal.ATTRIBUTE));
+    }
+}
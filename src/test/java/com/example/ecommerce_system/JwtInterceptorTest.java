@@ -0,0 +1,105 @@
+package com.example.ecommerce_system;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.example.ecommerce_system.config.JwtInterceptor;
+import com.example.ecommerce_system.config.JwtTokenVerifier;
+import com.example.ecommerce_system.config.RequestPrincipalArgumentResolver;
+import com.example.ecommerce_system.model.RequestPrincipal;
+import com.example.ecommerce_system.model.Role;
+import com.example.ecommerce_system.store.TokenStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtInterceptorTest {
+
+    private static final String SECRET = "test-secret";
+
+    @Mock
+    private TokenStore tokenStore;
+
+    private final JwtTokenVerifier tokenVerifier = new JwtTokenVerifier(SECRET, 100, 300_000);
+
+    private String token(UUID userId, String role, UUID customerId) {
+        return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(userId.toString())
+                .withClaim("role", role)
+                .withClaim("customerId", customerId.toString())
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(RequestPrincipal principal) {
+    }
+
+    @Test
+    @DisplayName("Should hand the token's principal to REST handler parameters")
+    void shouldResolvePrincipalForRestHandlers() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        MockHttpServletRequest request = request(token(userId, "CUSTOMER", customerId));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tokenStore.isAccessTokenRevoked(any(UUID.class))).thenReturn(false);
+
+        boolean proceed = new JwtInterceptor(tokenVerifier, tokenStore).preHandle(request, response, new Object());
+
+        RequestPrincipalArgumentResolver resolver = new RequestPrincipalArgumentResolver();
+        MethodParameter parameter = new MethodParameter(
+                JwtInterceptorTest.class.getDeclaredMethod("handler", RequestPrincipal.class), 0);
+        Object resolved = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+        Assertions.assertTrue(proceed);
+        Assertions.assertTrue(resolver.supportsParameter(parameter));
+        Assertions.assertEquals(new RequestPrincipal(userId, Role.CUSTOMER, customerId), resolved);
+    }
+
+    @Test
+    @DisplayName("Should reject a valid token with an unknown role claim with 403")
+    void shouldRejectUnknownRole() throws Exception {
+        MockHttpServletRequest request = request(token(UUID.randomUUID(), "SUPERUSER", UUID.randomUUID()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tokenStore.isAccessTokenRevoked(any(UUID.class))).thenReturn(false);
+
+        boolean proceed = new JwtInterceptor(tokenVerifier, tokenStore).preHandle(request, response, new Object());
+
+        Assertions.assertFalse(proceed);
+        Assertions.assertEquals(403, response.getStatus());
+        Assertions.assertNull(request.getAttribute(RequestPrincipal.ATTRIBUTE));
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked access token with 401")
+    void shouldRejectRevokedToken() throws Exception {
+        MockHttpServletRequest request = request(token(UUID.randomUUID(), "ADMIN", UUID.randomUUID()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(tokenStore.isAccessTokenRevoked(any(UUID.class))).thenReturn(true);
+
+        boolean proceed = new JwtInterceptor(tokenVerifier, tokenStore).preHandle(request, response, new Object());
+
+        Assertions.assertFalse(proceed);
+        Assertions.assertEquals(401, response.getStatus());
+    }
+}
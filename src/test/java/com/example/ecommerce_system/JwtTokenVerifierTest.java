@@ -0,0 +1,122 @@
+package com.example.ecommerce_system;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.example.ecommerce_system.config.JwtTokenVerifier;
+import com.example.ecommerce_system.model.Role;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+class JwtTokenVerifierTest {
+
+    private static final String SECRET = "test-secret";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T10:00:00Z"));
+    private final JwtTokenVerifier verifier = new JwtTokenVerifier(
+            SECRET, 100, Duration.ofMinutes(5).toMillis(), clock,
+            () -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+
+    private String token(String secret, String role, Instant expiresAt) {
+        return JWT.create()
+                .withJWTId(UUID.randomUUID().toString())
+                .withSubject(UUID.randomUUID().toString())
+                .withClaim("role", role)
+                .withClaim("customerId", UUID.randomUUID().toString())
+                .withIssuedAt(clock.instant())
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256(secret));
+    }
+
+    @Test
+    @DisplayName("Should serve a verified token from the cache until the token expires")
+    void shouldCacheVerifiedTokenUntilItExpires() {
+        String token = token(SECRET, "CUSTOMER", clock.instant().plusSeconds(60));
+
+        JwtTokenVerifier.VerifiedToken first = verifier.verify(token);
+        clock.advance(Duration.ofSeconds(59));
+        JwtTokenVerifier.VerifiedToken second = verifier.verify(token);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(Role.CUSTOMER, first.principal().role());
+        Assertions.assertEquals(1, verifier.metrics().cacheHits());
+
+        clock.advance(Duration.ofSeconds(2));
+        Assertions.assertThrows(TokenExpiredException.class, () -> verifier.verify(token));
+        Assertions.assertEquals(1, verifier.metrics().cacheHits());
+    }
+
+    @Test
+    @DisplayName("Should re-verify a long-lived token after the maximum cache TTL")
+    void shouldCapCacheTtl() {
+        String token = token(SECRET, "CUSTOMER", clock.instant().plus(Duration.ofHours(1)));
+
+        verifier.verify(token);
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+        verifier.verify(token);
+
+        Assertions.assertEquals(0, verifier.metrics().cacheHits());
+        Assertions.assertEquals(2, verifier.metrics().cacheMisses());
+    }
+
+    @Test
+    @DisplayName("Should not cache rejected tokens")
+    void shouldNotCacheRejectedTokens() {
+        String forged = token("other-secret", "ADMIN", clock.instant().plusSeconds(60));
+
+        Assertions.assertThrows(SignatureVerificationException.class, () -> verifier.verify(forged));
+        Assertions.assertThrows(SignatureVerificationException.class, () -> verifier.verify(forged));
+
+        Assertions.assertEquals(0, verifier.metrics().cacheHits());
+        Assertions.assertEquals(2, verifier.metrics().cacheMisses());
+    }
+
+    @Test
+    @DisplayName("Should reject an already expired token without caching it")
+    void shouldRejectExpiredToken() {
+        String expired = token(SECRET, "CUSTOMER", clock.instant().minusSeconds(1));
+
+        Assertions.assertThrows(JWTVerificationException.class, () -> verifier.verify(expired));
+        Assertions.assertThrows(JWTVerificationException.class, () -> verifier.verify(expired));
+
+        Assertions.assertEquals(0, verifier.metrics().cacheHits());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
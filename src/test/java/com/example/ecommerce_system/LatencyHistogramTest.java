@@ -0,0 +1,36 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.util.LatencyHistogram;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    @DisplayName("Should report percentiles as the upper bound of their bucket")
+    void shouldReportPercentileBuckets() {
+        for (int i = 0; i < 90; i++) histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        for (int i = 0; i < 10; i++) histogram.record(TimeUnit.MILLISECONDS.toNanos(80));
+
+        Assertions.assertEquals(100, histogram.count());
+        Assertions.assertEquals(5, histogram.percentileMillis(50));
+        Assertions.assertEquals(5, histogram.percentileMillis(90));
+        Assertions.assertEquals(100, histogram.percentileMillis(95));
+        Assertions.assertEquals(10.7, histogram.averageMillis(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should report -1 beyond the last bucket and 0 when empty")
+    void shouldHandleOverflowAndEmpty() {
+        Assertions.assertEquals(0, histogram.percentileMillis(99));
+
+        histogram.record(TimeUnit.SECONDS.toNanos(10));
+
+        Assertions.assertEquals(-1, histogram.percentileMillis(99));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.config.LoginRateLimiter;
+import com.example.ecommerce_system.exception.auth.TooManyLoginAttemptsException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LoginRateLimiterTest {
+
+    private final LoginRateLimiter limiter = new LoginRateLimiter(2, 60_000, 4, 60_000, 1000);
+
+    @Test
+    @DisplayName("Should reject an email once its attempts are used up, ignoring case and whitespace")
+    void shouldRejectEmailAfterCapacity() {
+        limiter.checkLoginAttempt("John@Example.com", "10.0.0.1");
+        limiter.checkLoginAttempt(" john@example.com ", "10.0.0.2");
+
+        TooManyLoginAttemptsException exception = Assertions.assertThrows(
+                TooManyLoginAttemptsException.class,
+                () -> limiter.checkLoginAttempt("john@example.com", "10.0.0.3")
+        );
+
+        Assertions.assertTrue(exception.getRetryAfterSeconds() >= 1);
+        Assertions.assertTrue(exception.getRetryAfterSeconds() <= 31);
+    }
+
+    @Test
+    @DisplayName("Should reject an IP trying many different emails")
+    void shouldRejectIpAfterCapacity() {
+        for (int i = 0; i < 4; i++)
+            limiter.checkLoginAttempt("user" + i + "@example.com", "10.0.0.1");
+
+        Assertions.assertThrows(
+                TooManyLoginAttemptsException.class,
+                () -> limiter.checkLoginAttempt("other@example.com", "10.0.0.1")
+        );
+        Assertions.assertDoesNotThrow(() -> limiter.checkLoginAttempt("other@example.com", "10.0.0.2"));
+    }
+}
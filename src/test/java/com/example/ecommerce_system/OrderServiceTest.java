@@ -3,6 +3,7 @@ package com.example.ecommerce_system;
 import com.example.ecommerce_system.dto.orders.OrderItemDto;
 import com.example.ecommerce_system.dto.orders.OrderRequestDto;
 import com.example.ecommerce_system.dto.orders.OrderResponseDto;
+import com.example.ecommerce_system.exception.cart.EmptyCartException;
 import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
 import com.example.ecommerce_system.exception.order.InvalidOrderStatusException;
 import com.example.ecommerce_system.exception.order.OrderDoesNotExist;
@@ -10,6 +11,7 @@ import com.example.ecommerce_system.exception.product.InsufficientProductStock;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.model.*;
 import com.example.ecommerce_system.service.OrderService;
+import com.example.ecommerce_system.store.CartSessionStore;
 import com.example.ecommerce_system.store.CustomerStore;
 import com.example.ecommerce_system.store.OrdersStore;
 import com.example.ecommerce_system.store.ProductStore;
@@ -25,6 +27,7 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.mockito.Mockito.*;
 
@@ -40,22 +43,29 @@ class OrderServiceTest {
     @Mock
     private ProductStore productStore;
 
+    @Mock
+    private CartSessionStore cartSessionStore;
+
     @InjectMocks
     private OrderService orderService;
 
+    private static CheckoutResult checkedOut(Orders order, List<OrderItem> items, double totalAmount) {
+        Orders saved = Orders.builder()
+                .orderId(order.getOrderId())
+                .customerId(order.getCustomerId())
+                .status(order.getStatus())
+                .orderDate(order.getOrderDate())
+                .totalAmount(totalAmount)
+                .build();
+        return new CheckoutResult(saved, items);
+    }
+
     @Test
     @DisplayName("Should place order successfully")
     void shouldPlaceOrderSuccessfully() {
-        UUID userId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
         UUID productId = UUID.randomUUID();
 
-        Customer customer = Customer.builder()
-                .customerId(customerId)
-                .firstName("John")
-                .lastName("Doe")
-                .build();
-
         Product product = Product.builder()
                 .productId(productId)
                 .name("Laptop")
@@ -86,16 +96,15 @@ class OrderServiceTest {
                 .shippingPostalCode("00233")
                 .build();
 
-        when(customerStore.getCustomerByUserId(userId)).thenReturn(Optional.of(customer));
         when(productStore.getProduct(productId)).thenReturn(Optional.of(product));
         when(orderStore.createOrder(any(Orders.class), anyList())).thenReturn(savedOrder);
 
-        OrderResponseDto response = orderService.placeOrder(request, userId);
+        OrderResponseDto response = orderService.placeOrder(request, customerId);
 
         Assertions.assertNotNull(response.getOrderId());
         Assertions.assertEquals(OrderStatus.PENDING, response.getStatus());
         Assertions.assertEquals(1, response.getItems().size());
-        verify(customerStore).getCustomerByUserId(userId);
+        verify(customerStore, never()).getCustomerByUserId(any());
         verify(productStore).getProduct(productId);
         verify(orderStore).createOrder(any(Orders.class), anyList());
     }
@@ -103,33 +112,36 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should throw error when placing order for non-existing customer")
     void shouldThrowWhenPlacingOrderForNonExistingCustomer() {
-        UUID userId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        UUID productId = UUID.randomUUID();
+
+        Product product = Product.builder()
+                .productId(productId)
+                .name("Laptop")
+                .price(1200.0)
+                .stockQuantity(10)
+                .build();
+
         OrderRequestDto request = OrderRequestDto.builder()
-                .items(List.of())
+                .items(List.of(OrderItemDto.builder().productId(productId).quantity(1).build()))
                 .build();
 
-        when(customerStore.getCustomerByUserId(userId)).thenReturn(Optional.empty());
+        when(productStore.getProduct(productId)).thenReturn(Optional.of(product));
+        when(orderStore.createOrder(any(Orders.class), anyList()))
+                .thenThrow(new CustomerNotFoundException(customerId.toString()));
 
         Assertions.assertThrows(
                 CustomerNotFoundException.class,
-                () -> orderService.placeOrder(request, userId)
+                () -> orderService.placeOrder(request, customerId)
         );
-
-        verify(customerStore).getCustomerByUserId(userId);
-        verify(orderStore, never()).createOrder(any(), anyList());
     }
 
     @Test
     @DisplayName("Should throw error when product not found")
     void shouldThrowWhenProductNotFound() {
-        UUID userId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
         UUID productId = UUID.randomUUID();
 
-        Customer customer = Customer.builder()
-                .customerId(customerId)
-                .build();
-
         OrderItemDto itemDto = OrderItemDto.builder()
                 .productId(productId)
                 .quantity(1)
@@ -139,12 +151,11 @@ class OrderServiceTest {
                 .items(List.of(itemDto))
                 .build();
 
-        when(customerStore.getCustomerByUserId(userId)).thenReturn(Optional.of(customer));
         when(productStore.getProduct(productId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(
                 ProductNotFoundException.class,
-                () -> orderService.placeOrder(request, userId)
+                () -> orderService.placeOrder(request, customerId)
         );
 
         verify(productStore).getProduct(productId);
@@ -154,14 +165,9 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should throw error when insufficient product stock")
     void shouldThrowWhenInsufficientStock() {
-        UUID userId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
         UUID productId = UUID.randomUUID();
 
-        Customer customer = Customer.builder()
-                .customerId(customerId)
-                .build();
-
         Product product = Product.builder()
                 .productId(productId)
                 .stockQuantity(2)
@@ -176,17 +182,94 @@ class OrderServiceTest {
                 .items(List.of(itemDto))
                 .build();
 
-        when(customerStore.getCustomerByUserId(userId)).thenReturn(Optional.of(customer));
         when(productStore.getProduct(productId)).thenReturn(Optional.of(product));
 
         Assertions.assertThrows(
                 InsufficientProductStock.class,
-                () -> orderService.placeOrder(request, userId)
+                () -> orderService.placeOrder(request, customerId)
         );
 
         verify(orderStore, never()).createOrder(any(), anyList());
     }
 
+    @Test
+    @DisplayName("Should checkout cart successfully")
+    void shouldCheckoutCartSuccessfully() {
+        UUID customerId = UUID.randomUUID();
+
+        OrderRequestDto request = OrderRequestDto.builder()
+                .city("Accra")
+                .country("Ghana")
+                .postalCode("00233")
+                .build();
+
+        List<OrderItem> items = List.of(
+                OrderItem.builder().productId(UUID.randomUUID()).quantity(2).priceAtPurchase(100.0).build(),
+                OrderItem.builder().productId(UUID.randomUUID()).quantity(1).priceAtPurchase(50.0).build()
+        );
+
+        when(cartSessionStore.isEnabled()).thenReturn(false);
+        when(orderStore.checkoutCart(any(Orders.class)))
+                .thenAnswer(invocation -> checkedOut(invocation.getArgument(0), items, 250.0));
+
+        OrderResponseDto response = orderService.checkout(request, customerId);
+
+        Assertions.assertEquals(250.0, response.getTotalAmount());
+        Assertions.assertEquals(OrderStatus.PENDING, response.getStatus());
+        Assertions.assertEquals(2, response.getItems().size());
+        verify(orderStore).checkoutCart(argThat(order -> order.getCustomerId().equals(customerId)));
+    }
+
+    @Test
+    @DisplayName("Should check out through the cart session when write-behind is enabled")
+    @SuppressWarnings("unchecked")
+    void shouldCheckoutThroughCartSession() {
+        UUID customerId = UUID.randomUUID();
+        List<OrderItem> items = List.of(
+                OrderItem.builder().productId(UUID.randomUUID()).quantity(3).priceAtPurchase(20.0).build()
+        );
+
+        when(cartSessionStore.isEnabled()).thenReturn(true);
+        when(cartSessionStore.checkout(eq(customerId), any()))
+                .thenAnswer(invocation -> ((Supplier<CheckoutResult>) invocation.getArgument(1)).get());
+        when(orderStore.checkoutCart(any(Orders.class)))
+                .thenAnswer(invocation -> checkedOut(invocation.getArgument(0), items, 60.0));
+
+        OrderResponseDto response = orderService.checkout(OrderRequestDto.builder().build(), customerId);
+
+        Assertions.assertEquals(60.0, response.getTotalAmount());
+        verify(cartSessionStore).checkout(eq(customerId), any());
+        verify(orderStore).checkoutCart(argThat(order -> order.getCustomerId().equals(customerId)));
+    }
+
+    @Test
+    @DisplayName("Should throw error when checking out an empty cart")
+    void shouldThrowWhenCheckingOutEmptyCart() {
+        UUID customerId = UUID.randomUUID();
+
+        when(cartSessionStore.isEnabled()).thenReturn(false);
+        when(orderStore.checkoutCart(any(Orders.class))).thenThrow(new EmptyCartException(customerId.toString()));
+
+        Assertions.assertThrows(
+                EmptyCartException.class,
+                () -> orderService.checkout(OrderRequestDto.builder().build(), customerId)
+        );
+    }
+
+    @Test
+    @DisplayName("Should throw error when checking out for non-existing customer")
+    void shouldThrowWhenCheckingOutForNonExistingCustomer() {
+        UUID customerId = UUID.randomUUID();
+
+        when(cartSessionStore.isEnabled()).thenReturn(false);
+        when(orderStore.checkoutCart(any(Orders.class))).thenThrow(new CustomerNotFoundException(customerId.toString()));
+
+        Assertions.assertThrows(
+                CustomerNotFoundException.class,
+                () -> orderService.checkout(OrderRequestDto.builder().build(), customerId)
+        );
+    }
+
     @Test
     @DisplayName("Should get order by id successfully")
     void shouldGetOrderByIdSuccessfully() {
@@ -363,15 +446,10 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should calculate total amount correctly for multiple items")
     void shouldCalculateTotalAmountForMultipleItems() {
-        UUID userId = UUID.randomUUID();
         UUID customerId = UUID.randomUUID();
         UUID productId1 = UUID.randomUUID();
         UUID productId2 = UUID.randomUUID();
 
-        Customer customer = Customer.builder()
-                .customerId(customerId)
-                .build();
-
         Product product1 = Product.builder()
                 .productId(productId1)
                 .price(500.0)
@@ -412,12 +490,11 @@ class OrderServiceTest {
                 .shippingPostalCode("00233")
                 .build();
 
-        when(customerStore.getCustomerByUserId(userId)).thenReturn(Optional.of(customer));
         when(productStore.getProduct(productId1)).thenReturn(Optional.of(product1));
         when(productStore.getProduct(productId2)).thenReturn(Optional.of(product2));
         when(orderStore.createOrder(any(Orders.class), anyList())).thenReturn(savedOrder);
 
-        OrderResponseDto response = orderService.placeOrder(request, userId);
+        OrderResponseDto response = orderService.placeOrder(request, customerId);
 
         Assertions.assertEquals(2, response.getItems().size());
         verify(orderStore).createOrder(any(Orders.class), anyList());
@@ -0,0 +1,68 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.impl.OrdersJdbcDao;
+import com.example.ecommerce_system.exception.DaoException;
+import com.example.ecommerce_system.exception.customer.CustomerNotFoundException;
+import com.example.ecommerce_system.model.OrderStatus;
+import com.example.ecommerce_system.model.Orders;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrdersJdbcDaoTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final OrdersJdbcDao ordersDao = new OrdersJdbcDao();
+
+    private Orders order() {
+        return Orders.builder()
+                .orderId(UUID.randomUUID())
+                .customerId(UUID.randomUUID())
+                .status(OrderStatus.PENDING)
+                .orderDate(Instant.now())
+                .totalAmount(100.0)
+                .build();
+    }
+
+    private PSQLException foreignKeyViolation(String constraint) {
+        return new PSQLException(new ServerErrorMessage(
+                "SERROR\0C23503\0Minsert or update on table \"orders\" violates foreign key constraint\0n" + constraint + "\0"));
+    }
+
+    @Test
+    @DisplayName("Should report a missing customer when the customer foreign key is violated")
+    void shouldThrowCustomerNotFoundOnCustomerForeignKeyViolation() throws Exception {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeUpdate()).thenThrow(foreignKeyViolation("fk_customer_in_orders"));
+
+        Assertions.assertThrows(CustomerNotFoundException.class, () -> ordersDao.save(connection, order()));
+    }
+
+    @Test
+    @DisplayName("Should keep other foreign key violations as DAO errors")
+    void shouldThrowDaoExceptionOnOtherForeignKeyViolation() throws Exception {
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeUpdate()).thenThrow(foreignKeyViolation("fk_order_status"));
+
+        Assertions.assertThrows(DaoException.class, () -> ordersDao.save(connection, order()));
+    }
+}
@@ -1,16 +1,23 @@
 package com.example.ecommerce_system;
 
+import com.example.ecommerce_system.dto.category.CategoryResponseDto;
 import com.example.ecommerce_system.dto.product.ProductFilter;
 import com.example.ecommerce_system.dto.product.ProductRequestDto;
 import com.example.ecommerce_system.dto.product.ProductResponseDto;
+import com.example.ecommerce_system.dto.product.ProductWithReviewsDto;
+import com.example.ecommerce_system.dto.review.ReviewResponseDto;
 import com.example.ecommerce_system.exception.category.CategoryNotFoundException;
 import com.example.ecommerce_system.exception.product.ProductNotFoundException;
 import com.example.ecommerce_system.model.Category;
 import com.example.ecommerce_system.model.Product;
+import com.example.ecommerce_system.model.ProductRatingStats;
+import com.example.ecommerce_system.service.CategoryService;
 import com.example.ecommerce_system.service.ProductService;
+import com.example.ecommerce_system.service.ReviewService;
 import com.example.ecommerce_system.store.CategoryStore;
 import com.example.ecommerce_system.store.ProductStore;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,7 +26,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -34,9 +43,26 @@ class ProductServiceTest {
     @Mock
     private CategoryStore categoryStore;
 
+    @Mock
+    private ReviewService reviewService;
+
+    @Mock
+    private CategoryService categoryService;
+
     @InjectMocks
     private ProductService productService;
 
+    @BeforeEach
+    void stubRatingStats() {
+        lenient().when(reviewService.getRatingStats(any())).thenReturn(ProductRatingStats.EMPTY);
+        lenient().when(reviewService.getRatingStatsByProducts(anyList())).thenAnswer(invocation -> {
+            List<UUID> productIds = invocation.getArgument(0);
+            Map<UUID, ProductRatingStats> stats = new HashMap<>();
+            productIds.forEach(productId -> stats.put(productId, ProductRatingStats.EMPTY));
+            return stats;
+        });
+    }
+
     @Test
     @DisplayName("Should create product successfully")
     void shouldCreateProductSuccessfully() {
@@ -106,6 +132,44 @@ class ProductServiceTest {
         verify(productStore).getProduct(id);
     }
 
+    @Test
+    @DisplayName("Should expose precomputed rating stats on product")
+    void shouldExposeRatingStatsOnProduct() {
+        UUID id = UUID.randomUUID();
+        Product product = Product.builder()
+                .productId(id)
+                .name("Phone")
+                .price(800.0)
+                .build();
+
+        when(productStore.getProduct(id)).thenReturn(Optional.of(product));
+        when(reviewService.getRatingStats(id)).thenReturn(new ProductRatingStats(4, 17, List.of(0, 0, 1, 1, 2)));
+
+        ProductResponseDto response = productService.getProduct(id);
+
+        Assertions.assertEquals(4, response.getReviewCount());
+        Assertions.assertEquals(4.25, response.getAverageRating());
+        Assertions.assertEquals(List.of(0, 0, 1, 1, 2), response.getRatingHistogram());
+    }
+
+    @Test
+    @DisplayName("Should default rating stats when product has no reviews")
+    void shouldDefaultRatingStatsWhenProductHasNoReviews() {
+        UUID id = UUID.randomUUID();
+        Product product = new Product(
+                id, "Phone", "Desc", 800.0, 10,
+                UUID.randomUUID(), Instant.now(), Instant.now()
+        );
+
+        when(productStore.getProduct(id)).thenReturn(Optional.of(product));
+
+        ProductResponseDto response = productService.getProduct(id);
+
+        Assertions.assertEquals(0, response.getReviewCount());
+        Assertions.assertEquals(0.0, response.getAverageRating());
+        Assertions.assertEquals(List.of(0, 0, 0, 0, 0), response.getRatingHistogram());
+    }
+
     @Test
     @DisplayName("Should throw error when product not found by id")
     void shouldThrowWhenProductNotFoundById() {
@@ -341,5 +405,53 @@ class ProductServiceTest {
         Assertions.assertEquals(2, result.size());
         verify(productStore).getAllProducts(10, 0);
     }
-}
 
+    @Test
+    @DisplayName("Should load rating stats once for a page of products")
+    void shouldLoadRatingStatsOnceForPageOfProducts() {
+        Product first = new Product(UUID.randomUUID(), "Phone", "Desc", 800.0, 10, UUID.randomUUID(), Instant.now(), Instant.now());
+        Product second = new Product(UUID.randomUUID(), "Tablet", "Desc", 500.0, 5, UUID.randomUUID(), Instant.now(), Instant.now());
+        List<UUID> productIds = List.of(first.getProductId(), second.getProductId());
+
+        when(productStore.getAllProducts(10, 0)).thenReturn(List.of(first, second));
+        when(reviewService.getRatingStatsByProducts(productIds)).thenReturn(Map.of(
+                first.getProductId(), new ProductRatingStats(2, 9, List.of(0, 0, 0, 1, 1)),
+                second.getProductId(), ProductRatingStats.EMPTY
+        ));
+
+        List<ProductResponseDto> result = productService.getAllProducts(10, 0);
+
+        Assertions.assertEquals(2, result.get(0).getReviewCount());
+        Assertions.assertEquals(4.5, result.get(0).getAverageRating());
+        Assertions.assertEquals(0, result.get(1).getReviewCount());
+        verify(reviewService, times(1)).getRatingStatsByProducts(productIds);
+        verify(reviewService, never()).getRatingStats(any());
+    }
+
+    @Test
+    @DisplayName("Should load reviews and categories once for a page of products")
+    void shouldLoadReviewsAndCategoriesOnceForPageOfProducts() {
+        UUID categoryId = UUID.randomUUID();
+        Product first = new Product(UUID.randomUUID(), "Phone", "Desc", 800.0, 10, categoryId, Instant.now(), Instant.now());
+        Product second = new Product(UUID.randomUUID(), "Tablet", "Desc", 500.0, 5, categoryId, Instant.now(), Instant.now());
+        List<UUID> productIds = List.of(first.getProductId(), second.getProductId());
+
+        ReviewResponseDto review = ReviewResponseDto.builder().productId(first.getProductId()).rating(5).build();
+        CategoryResponseDto category = CategoryResponseDto.builder().categoryId(categoryId).build();
+
+        when(productStore.getAllProducts(10, 0)).thenReturn(List.of(first, second));
+        when(reviewService.getTopReviewsByProducts(productIds, 3)).thenReturn(Map.of(
+                first.getProductId(), List.of(review),
+                second.getProductId(), List.of()
+        ));
+        when(categoryService.getCategory(categoryId)).thenReturn(category);
+
+        List<ProductWithReviewsDto> result = productService.getAllProductsWithReviews(10, 0, 3);
+
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(List.of(review), result.get(0).getReviews());
+        Assertions.assertTrue(result.get(1).getReviews().isEmpty());
+        verify(reviewService, times(1)).getTopReviewsByProducts(productIds, 3);
+        verify(categoryService, times(1)).getCategory(categoryId);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dto.CursorPageDto;
+import com.example.ecommerce_system.dto.review.ReviewFilter;
+import com.example.ecommerce_system.dto.review.ReviewResponseDto;
+import com.example.ecommerce_system.exception.InvalidCursorException;
+import com.example.ecommerce_system.model.Customer;
+import com.example.ecommerce_system.model.Review;
+import com.example.ecommerce_system.service.ReviewService;
+import com.example.ecommerce_system.store.CustomerStore;
+import com.example.ecommerce_system.store.OrdersStore;
+import com.example.ecommerce_system.store.ProductStore;
+import com.example.ecommerce_system.store.ReviewStore;
+import com.example.ecommerce_system.util.KeysetCursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewServiceTest {
+
+    @Mock
+    private ReviewStore reviewStore;
+
+    @Mock
+    private ProductStore productStore;
+
+    @Mock
+    private CustomerStore customerStore;
+
+    @Mock
+    private OrdersStore ordersStore;
+
+    @InjectMocks
+    private ReviewService reviewService;
+
+    private Review review(UUID productId, UUID reviewId, Instant createdAt) {
+        Customer customer = Customer.builder()
+                .customerId(UUID.randomUUID())
+                .firstName("John")
+                .lastName("Doe")
+                .email("john@example.com")
+                .createdAt(Instant.now())
+                .build();
+        return Review.builder()
+                .reviewId(reviewId)
+                .productId(productId)
+                .customerId(customer.getCustomerId())
+                .rating(5)
+                .createdAt(createdAt)
+                .customer(customer)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should encode a cursor that round-trips to the last row's timestamp and id")
+    void shouldRoundTripCursor() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2025-01-01T10:00:00.123456Z"), UUID.randomUUID());
+
+        Assertions.assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+        Assertions.assertNull(KeysetCursor.decode(null));
+        Assertions.assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void shouldRejectMalformedCursor() {
+        UUID productId = UUID.randomUUID();
+
+        Assertions.assertThrows(
+                InvalidCursorException.class,
+                () -> reviewService.getReviewsByProduct(productId, 10, "not-a-cursor")
+        );
+
+        verifyNoInteractions(reviewStore);
+    }
+
+    @Test
+    @DisplayName("Should continue after a created_at tie from the last review's id")
+    void shouldContinueAfterCreatedAtTie() {
+        UUID productId = UUID.randomUUID();
+        Instant tiedAt = Instant.parse("2025-01-01T10:00:00Z");
+        Review first = review(productId, UUID.fromString("00000000-0000-0000-0000-000000000001"), tiedAt);
+        Review second = review(productId, UUID.fromString("00000000-0000-0000-0000-000000000002"), tiedAt);
+        Review third = review(productId, UUID.fromString("00000000-0000-0000-0000-000000000003"), tiedAt);
+
+        when(reviewStore.getReviewsByProduct(productId, null, 3)).thenReturn(List.of(first, second, third));
+        KeysetCursor afterSecond = new KeysetCursor(tiedAt, second.getReviewId());
+        when(reviewStore.getReviewsByProduct(productId, afterSecond, 3)).thenReturn(List.of(third));
+
+        CursorPageDto<ReviewResponseDto> page = reviewService.getReviewsByProduct(productId, 2, null);
+        CursorPageDto<ReviewResponseDto> next = reviewService.getReviewsByProduct(productId, 2, page.nextCursor());
+
+        Assertions.assertEquals(
+                List.of(first.getReviewId(), second.getReviewId()),
+                page.items().stream().map(ReviewResponseDto::getReviewId).toList());
+        Assertions.assertEquals(afterSecond, KeysetCursor.decode(page.nextCursor()));
+        Assertions.assertEquals(List.of(third.getReviewId()), next.items().stream().map(ReviewResponseDto::getReviewId).toList());
+        Assertions.assertNull(next.nextCursor());
+        verifyNoInteractions(productStore);
+    }
+
+    @Test
+    @DisplayName("Should reject a page size below one without querying")
+    void shouldRejectNonPositiveLimit() {
+        UUID productId = UUID.randomUUID();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getReviewsByProduct(productId, 0, null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> reviewService.getReviewsByProduct(productId, -1, null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> reviewService.searchReviews(new ReviewFilter(null, null, null, null, null, null), 0, null));
+
+        verifyNoInteractions(reviewStore);
+    }
+}
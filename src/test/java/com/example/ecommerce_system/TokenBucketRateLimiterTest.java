@@ -0,0 +1,60 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.util.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final TokenBucketRateLimiter limiter =
+            new TokenBucketRateLimiter(3, Duration.ofSeconds(3), 100, clock::get);
+
+    @Test
+    @DisplayName("Should grant a full burst and then reject with the wait until the next token")
+    void shouldGrantBurstThenReject() {
+        for (int i = 0; i < 3; i++)
+            Assertions.assertEquals(0, limiter.tryAcquire("key"));
+
+        long wait = limiter.tryAcquire("key");
+
+        Assertions.assertEquals(Duration.ofSeconds(1).toNanos(), wait);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens continuously over the period")
+    void shouldRefillOverTime() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire("key");
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        Assertions.assertTrue(limiter.tryAcquire("key") > 0);
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        Assertions.assertEquals(0, limiter.tryAcquire("key"));
+        Assertions.assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    @DisplayName("Should never refill above capacity")
+    void shouldCapRefillAtCapacity() {
+        limiter.tryAcquire("key");
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        for (int i = 0; i < 3; i++)
+            Assertions.assertEquals(0, limiter.tryAcquire("key"));
+        Assertions.assertTrue(limiter.tryAcquire("key") > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep a separate bucket per key")
+    void shouldKeepSeparateBucketsPerKey() {
+        for (int i = 0; i < 3; i++) limiter.tryAcquire("first");
+
+        Assertions.assertTrue(limiter.tryAcquire("first") > 0);
+        Assertions.assertEquals(0, limiter.tryAcquire("second"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.ecommerce_system;
+
+import com.example.ecommerce_system.dao.interfaces.TokenDao;
+import com.example.ecommerce_system.exception.auth.InvalidRefreshTokenException;
+import com.example.ecommerce_system.model.RefreshToken;
+import com.example.ecommerce_system.store.TokenStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenStoreTest {
+
+    private static final String TOKEN_HASH = "hash";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private TokenDao tokenDao;
+
+    private TokenStore tokenStore;
+    private final AtomicReference<RefreshToken> stored = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tokenStore = new TokenStore(dataSource, tokenDao);
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+
+    private RefreshToken refreshToken(UUID accessTokenId, Instant revokedAt) {
+        Instant now = Instant.now();
+        return RefreshToken.builder()
+                .tokenId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .tokenHash(TOKEN_HASH)
+                .accessTokenId(accessTokenId)
+                .expiresAt(now.plus(Duration.ofDays(7)))
+                .createdAt(now)
+                .revokedAt(revokedAt)
+                .build();
+    }
+
+    /**
+     * Back the refresh token row with {@link #stored}, so a revocation is seen by the next lookup.
+     */
+    private void storeRefreshToken(RefreshToken token) throws Exception {
+        stored.set(token);
+        when(tokenDao.findRefreshTokenByHashForUpdate(connection, TOKEN_HASH))
+                .thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        lenient().doAnswer(invocation -> {
+            RefreshToken current = stored.get();
+            stored.set(new RefreshToken(current.getTokenId(), current.getUserId(), current.getTokenHash(),
+                    current.getAccessTokenId(), current.getExpiresAt(), current.getCreatedAt(), invocation.getArgument(2)));
+            return null;
+        }).when(tokenDao).revokeRefreshToken(eq(connection), eq(token.getTokenId()), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a second rotation of the same refresh token")
+    void shouldRotateRefreshTokenOnlyOnce() throws Exception {
+        RefreshToken current = refreshToken(UUID.randomUUID(), null);
+        storeRefreshToken(current);
+
+        RefreshToken next = tokenStore.rotateRefreshToken(TOKEN_HASH,
+                RefreshToken.builder().tokenId(UUID.randomUUID()).tokenHash("next"));
+
+        Assertions.assertEquals(current.getUserId(), next.getUserId());
+        Assertions.assertThrows(InvalidRefreshTokenException.class, () -> tokenStore.rotateRefreshToken(TOKEN_HASH,
+                RefreshToken.builder().tokenId(UUID.randomUUID()).tokenHash("again")));
+
+        verify(tokenDao, times(1)).saveRefreshToken(eq(connection), any());
+        verify(connection, times(1)).commit();
+        verify(connection, times(1)).rollback();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked access token locally before the next revocation sync")
+    void shouldSeeLocalRevocationBeforeSync() throws Exception {
+        UUID accessTokenId = UUID.randomUUID();
+        Instant accessTokenExpiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        storeRefreshToken(refreshToken(accessTokenId, null));
+
+        tokenStore.revokeRefreshToken(TOKEN_HASH, accessTokenExpiresAt);
+
+        Assertions.assertTrue(tokenStore.isAccessTokenRevoked(accessTokenId));
+        verify(tokenDao).saveRevokedAccessToken(connection, accessTokenId, accessTokenExpiresAt);
+        verify(tokenDao, never()).findActiveRevokedAccessTokens(any(), any());
+
+        tokenStore.revokeRefreshToken(TOKEN_HASH, accessTokenExpiresAt);
+        verify(tokenDao, times(1)).saveRevokedAccessToken(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep unexpired local revocations when the reloaded set does not contain them yet")
+    void shouldKeepLocalRevocationsOnReload() throws Exception {
+        UUID localAccessTokenId = UUID.randomUUID();
+        UUID remoteAccessTokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        storeRefreshToken(refreshToken(localAccessTokenId, null));
+        when(tokenDao.findActiveRevokedAccessTokens(eq(connection), any()))
+                .thenReturn(Map.of(remoteAccessTokenId, expiresAt));
+
+        tokenStore.revokeRefreshToken(TOKEN_HASH, expiresAt);
+        tokenStore.reloadRevocations();
+
+        Assertions.assertTrue(tokenStore.isAccessTokenRevoked(localAccessTokenId));
+        Assertions.assertTrue(tokenStore.isAccessTokenRevoked(remoteAccessTokenId));
+        Assertions.assertFalse(tokenStore.isAccessTokenRevoked(UUID.randomUUID()));
+    }
+}